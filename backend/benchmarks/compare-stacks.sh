@@ -0,0 +1,107 @@
+#!/usr/bin/env bash
+#
+# Load test the servlet (MVC) and reactive (WebFlux) stacks against the same MongoDB, one after the other.
+#
+#   ./benchmarks/compare-stacks.sh                     # defaults below
+#   MONGODB_URI=mongodb://localhost:27017/portfolio CONCURRENCY="50 200 1000" ./benchmarks/compare-stacks.sh
+#   STACKS="default virtual" ./benchmarks/compare-stacks.sh   # platform vs virtual threads on MVC, Java 21+
+#
+# Each entry in STACKS is a Spring profile ("default" runs without one). The virtual profile logs carrier pinning
+# from JFR; add JAVA_OPTS="-Djdk.tracePinnedThreads=short" to also get the JDK's own pinning traces.
+#
+# Needs wrk (preferred) or hey on the PATH, and a packaged jar that includes the reactive stack
+# (./mvnw -Preactive -DskipTests package).
+# Results are written to benchmarks/results/<timestamp>/ and summarised in summary.txt.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=${JAR:-$(ls target/portfolio-*.jar | head -n 1)}
+PORT=${PORT:-8090}
+MONGODB_URI=${MONGODB_URI:-mongodb://localhost:27017/portfolio}
+TARGET_PATH=${TARGET_PATH:-/api/portfolio}
+CONCURRENCY=${CONCURRENCY:-"50 200 1000"}
+DURATION=${DURATION:-30s}
+WARMUP=${WARMUP:-10s}
+STACKS=${STACKS:-"default reactive"}
+JAVA_OPTS=${JAVA_OPTS:-"-Xmx512m"}
+
+RESULTS="benchmarks/results/$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$RESULTS"
+
+if command -v wrk > /dev/null; then
+    TOOL=wrk
+elif command -v hey > /dev/null; then
+    TOOL=hey
+else
+    echo "Install wrk or hey to run the load test" >&2
+    exit 1
+fi
+
+load() {
+    local connections=$1 duration=$2 url=$3
+    if [ "$TOOL" = wrk ]; then
+        wrk --latency -t "$(( connections < 8 ? connections : 8 ))" -c "$connections" -d "$duration" "$url"
+    else
+        hey -z "$duration" -c "$connections" "$url"
+    fi
+}
+
+wait_for_health() {
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:$PORT/api/portfolio/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Application did not become healthy" >&2
+    return 1
+}
+
+for stack in $STACKS; do
+    echo "== $stack"
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -jar "$JAR" \
+        --spring.profiles.active="$stack" \
+        --server.port="$PORT" \
+        --spring.data.mongodb.uri="$MONGODB_URI" \
+        --logging.level.org.springframework.data.mongodb=INFO \
+        --logging.level.com.utsingh.portfolio=INFO \
+        > "$RESULTS/$stack-app.log" 2>&1 &
+    app=$!
+    trap 'kill $app 2> /dev/null || true' EXIT
+
+    wait_for_health
+    load 50 "$WARMUP" "http://localhost:$PORT$TARGET_PATH" > /dev/null
+
+    for connections in $CONCURRENCY; do
+        echo "-- $connections connections"
+        load "$connections" "$DURATION" "http://localhost:$PORT$TARGET_PATH" | tee "$RESULTS/$stack-c$connections.txt"
+        # Live threads at the end of the run: request threads for MVC, event loops for WebFlux
+        jcmd "$app" Thread.print 2> /dev/null | grep -c '^"' > "$RESULTS/$stack-c$connections-threads.txt" || true
+    done
+
+    kill "$app"
+    wait "$app" 2> /dev/null || true
+done
+
+{
+    printf '%-10s %6s %12s %10s %10s %8s\n' stack conns req/s p50 p99 threads
+    for stack in $STACKS; do
+        for connections in $CONCURRENCY; do
+            file="$RESULTS/$stack-c$connections.txt"
+            threads=$(cat "$RESULTS/$stack-c$connections-threads.txt" 2> /dev/null || echo '?')
+            if [ "$TOOL" = wrk ]; then
+                rps=$(awk '/Requests\/sec/ {print $2}' "$file")
+                p50=$(awk '$1 == "50%" {print $2}' "$file")
+                p99=$(awk '$1 == "99%" {print $2}' "$file")
+            else
+                rps=$(awk '/Requests\/sec/ {print $2}' "$file")
+                p50=$(awk '/50% in/ {print $3 "s"}' "$file")
+                p99=$(awk '/99% in/ {print $3 "s"}' "$file")
+            fi
+            printf '%-10s %6s %12s %10s %10s %8s\n' "$stack" "$connections" "$rps" "$p50" "$p99" "$threads"
+        done
+    done
+} | tee "$RESULTS/summary.txt"
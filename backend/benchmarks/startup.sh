@@ -0,0 +1,120 @@
+#!/usr/bin/env bash
+#
+# Cold start time and resident memory of the heroku profile across build variants, started RUNS times each.
+#
+#   ./benchmarks/startup.sh                          # every variant whose artifact exists
+#   VARIANTS="jvm cds" RUNS=10 ./benchmarks/startup.sh
+#
+# Variants and the build that produces them:
+#   jvm      ./mvnw -DskipTests package                  plain executable jar
+#   aot      ./mvnw -Pnative -DskipTests package         AOT-processed jar, started with -Dspring.aot.enabled=true
+#   cds      ./mvnw -Pcds -DskipTests package            extracted jar with a CDS archive (add -Pnative for AOT + CDS)
+#   native   ./mvnw -Pnative -DskipTests native:compile  GraalVM native executable
+#
+# Startup is wall time from launch until /api/portfolio/health answers; RSS is sampled once healthy and again
+# after WARM_REQUESTS requests to TARGET_PATH. Results are written to benchmarks/results/startup-<timestamp>/.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=${JAR:-$(ls target/portfolio-*.jar | head -n 1)}
+CDS_JAR=${CDS_JAR:-$(ls target/cds/portfolio-*.jar 2> /dev/null | head -n 1)}
+NATIVE=${NATIVE:-target/portfolio}
+PORT=${PORT:-8091}
+RUNS=${RUNS:-5}
+VARIANTS=${VARIANTS:-"jvm aot cds native"}
+TARGET_PATH=${TARGET_PATH:-/api/portfolio}
+WARM_REQUESTS=${WARM_REQUESTS:-200}
+JAVA_OPTS=${JAVA_OPTS:-"-Xmx256m"}
+NATIVE_OPTS=${NATIVE_OPTS:-"-Xmx256m"}
+
+RESULTS="benchmarks/results/startup-$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$RESULTS"
+
+command_for() {
+    case "$1" in
+        jvm) echo "java $JAVA_OPTS -jar $JAR" ;;
+        aot) echo "java $JAVA_OPTS -Dspring.aot.enabled=true -jar $JAR" ;;
+        cds) echo "java $JAVA_OPTS -XX:SharedArchiveFile=target/cds/application.jsa -jar $CDS_JAR" ;;
+        native) echo "$NATIVE $NATIVE_OPTS" ;;
+        *) echo "Unknown variant $1" >&2; return 1 ;;
+    esac
+}
+
+available() {
+    case "$1" in
+        aot) unzip -l "$JAR" 2> /dev/null | grep -q '__ApplicationContextInitializer' ;;
+        cds) [ -n "$CDS_JAR" ] && [ -f target/cds/application.jsa ] ;;
+        native) [ -x "$NATIVE" ] ;;
+        *) [ -f "$JAR" ] ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    ps -o rss= -p "$1" | tr -d ' '
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { if (NR == 0) { print "-" } else { print values[int((NR + 1) / 2)] } }'
+}
+
+for variant in $VARIANTS; do
+    if ! available "$variant"; then
+        echo "== $variant skipped, build it first (see the header of this script)"
+        continue
+    fi
+    echo "== $variant"
+    for run in $(seq 1 "$RUNS"); do
+        data=$(mktemp -d)
+        start=$(now_ms)
+        # shellcheck disable=SC2046
+        $(command_for "$variant") \
+            --spring.profiles.active=heroku \
+            --server.port="$PORT" \
+            --portfolio.embedded.snapshot-path="$data/portfolio.snapshot" \
+            > "$RESULTS/$variant-$run.log" 2>&1 &
+        app=$!
+        trap 'kill $app 2> /dev/null || true' EXIT
+
+        healthy=
+        for _ in $(seq 1 1200); do
+            if curl -sf "http://localhost:$PORT/api/portfolio/health" > /dev/null; then
+                healthy=$(now_ms)
+                break
+            fi
+            sleep 0.05
+        done
+        if [ -z "$healthy" ]; then
+            echo "$variant did not become healthy, see $RESULTS/$variant-$run.log" >&2
+            kill "$app" 2> /dev/null || true
+            exit 1
+        fi
+        rss_started=$(rss_kb "$app")
+        for _ in $(seq 1 "$WARM_REQUESTS"); do
+            curl -sf -o /dev/null "http://localhost:$PORT$TARGET_PATH"
+        done
+        rss_warm=$(rss_kb "$app")
+
+        echo "$run $(( healthy - start )) $rss_started $rss_warm" | tee -a "$RESULTS/$variant.txt"
+        kill "$app"
+        wait "$app" 2> /dev/null || true
+        rm -rf "$data"
+    done
+done
+
+{
+    printf '%-8s %6s %14s %14s %14s\n' variant runs 'startup ms' 'rss MB' 'warm rss MB'
+    for variant in $VARIANTS; do
+        file="$RESULTS/$variant.txt"
+        [ -f "$file" ] || continue
+        startup=$(awk '{ print $2 }' "$file" | median)
+        rss=$(awk '{ print int($3 / 1024) }' "$file" | median)
+        warm=$(awk '{ print int($4 / 1024) }' "$file" | median)
+        printf '%-8s %6s %14s %14s %14s\n' "$variant" "$(wc -l < "$file")" "$startup" "$rss" "$warm"
+    done
+} | tee "$RESULTS/summary.txt"
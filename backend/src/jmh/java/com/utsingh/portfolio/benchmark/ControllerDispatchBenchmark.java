@@ -0,0 +1,85 @@
+package com.utsingh.portfolio.benchmark;
+
+import com.utsingh.portfolio.PortfolioApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full {@code PortfolioController} dispatch through the {@code DispatcherServlet}, filters and message converters,
+ * against the heroku profile so no database is needed. Socket I/O is excluded by {@link MockMvc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ControllerDispatchBenchmark {
+
+    private static final String BASE_PATH = "/api/portfolio";
+    private static final String SAMPLE_ID = "sample-portfolio-id";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String etag;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(PortfolioApplication.class)
+                .profiles("heroku")
+                .properties("server.port=0", "logging.level.root=WARN", "springdoc.api-docs.enabled=false",
+                        "portfolio.embedded.snapshot-path=" + Files.createTempDirectory("portfolio-benchmark").resolve("portfolio.snapshot"))
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        etag = byId().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult byId() throws Exception {
+        return mockMvc.perform(get(BASE_PATH + "/" + SAMPLE_ID).contextPath("/api")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult byIdNotModified() throws Exception {
+        return mockMvc.perform(get(BASE_PATH + "/" + SAMPLE_ID).contextPath("/api")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult all() throws Exception {
+        return mockMvc.perform(get(BASE_PATH).contextPath("/api")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult projected() throws Exception {
+        return mockMvc.perform(get(BASE_PATH).contextPath("/api").param("fields", "personalInfo.name,projects.title")).andReturn();
+    }
+}
@@ -0,0 +1,55 @@
+package com.utsingh.portfolio.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.benchmark.PortfolioFixtures.Size;
+import com.utsingh.portfolio.model.Portfolio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trip of the API representation, configured like Spring Boot's default {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "HUGE"})
+    private Size size;
+
+    private ObjectMapper objectMapper;
+    private Portfolio portfolio;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        portfolio = PortfolioFixtures.portfolio(size);
+        json = objectMapper.writeValueAsBytes(portfolio);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(portfolio);
+    }
+
+    @Benchmark
+    public Portfolio deserialize() throws Exception {
+        return objectMapper.readValue(json, Portfolio.class);
+    }
+}
@@ -0,0 +1,202 @@
+package com.utsingh.portfolio.benchmark;
+
+import com.utsingh.portfolio.model.Portfolio;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Deterministic portfolio graphs shaped like the {@code DataInitializationService} seed data,
+ * with every section repeated {@link Size#getScale()} times.
+ */
+public final class PortfolioFixtures {
+
+    public enum Size {
+        /** The seed document as initialized on first start */
+        SMALL(1),
+        MEDIUM(10),
+        LARGE(100),
+        /** Several megabytes serialized, close to the 16 MB BSON document limit's order of magnitude */
+        HUGE(1000);
+
+        private final int scale;
+
+        Size(int scale) {
+            this.scale = scale;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+    }
+
+    private static final List<String> TECHNOLOGIES = List.of("React", "Spring Boot", "MongoDB", "Tailwind CSS",
+            "Node.js", "PostgreSQL", "Python", "Django", "Docker", "AWS");
+
+    private PortfolioFixtures() {
+    }
+
+    public static Portfolio portfolio(Size size) {
+        return portfolio(size, true);
+    }
+
+    /**
+     * @param withIds false leaves every nested id empty, as a client posting a new portfolio would
+     */
+    public static Portfolio portfolio(Size size, boolean withIds) {
+        int scale = size.getScale();
+        Portfolio portfolio = new Portfolio();
+        portfolio.setId(withIds ? "benchmark-" + size.name().toLowerCase() : null);
+        portfolio.setVersion(withIds ? 1L : null);
+        portfolio.setPersonalInfo(personalInfo());
+        portfolio.setProjects(repeat(3 * scale, i -> project(i, withIds)));
+        portfolio.setSkills(repeat(6 * scale, i -> skill(i, withIds)));
+        portfolio.setAchievements(repeat(2 * scale, i -> achievement(i, withIds)));
+        portfolio.setExperiences(repeat(2 * scale, i -> experience(i, withIds)));
+        portfolio.setEducation(repeat(scale, i -> education(i, withIds)));
+        portfolio.setTravels(repeat(2 * scale, i -> travel(i, withIds)));
+        portfolio.setHackathons(repeat(2 * scale, i -> hackathon(i, withIds)));
+        Map<String, Object> additionalData = new HashMap<>();
+        additionalData.put("theme", "dark");
+        additionalData.put("lastUpdated", "2024-01-15");
+        additionalData.put("version", "1.0.0");
+        portfolio.setAdditionalData(additionalData);
+        return portfolio;
+    }
+
+    private static Portfolio.PersonalInfo personalInfo() {
+        Portfolio.PersonalInfo personalInfo = new Portfolio.PersonalInfo();
+        personalInfo.setName("Uttam Singh");
+        personalInfo.setTitle("Full Stack Developer & Data Engineer");
+        personalInfo.setEmail("uttams2309@gmail.com");
+        personalInfo.setPhone("+91-XXXXXXXXXX");
+        personalInfo.setLocation("India");
+        personalInfo.setBio("Passionate full-stack developer with expertise in modern web technologies, data engineering, and machine learning. I love building scalable applications and solving complex problems.");
+        personalInfo.setProfileImage("/assets/images/profile.jpg");
+        personalInfo.setSocialLinks(List.of("https://github.com/uttamsingh", "https://linkedin.com/in/uttamsingh", "https://twitter.com/uttamsingh"));
+        personalInfo.setResume("/assets/resume.pdf");
+        return personalInfo;
+    }
+
+    private static Portfolio.Project project(int i, boolean withIds) {
+        Portfolio.Project project = new Portfolio.Project();
+        project.setId(withIds ? "project-" + i : null);
+        project.setTitle("Project " + i);
+        project.setDescription("A modern, responsive web application built with React and Spring Boot, iteration " + i);
+        project.setTechnologies(technologies(i, 4));
+        project.setGithubUrl("https://github.com/uttamsingh/project-" + i);
+        project.setLiveUrl("https://project-" + i + ".uttamsingh.dev");
+        project.setImageUrl("/assets/images/project-" + i + ".jpg");
+        project.setCategory(i % 2 == 0 ? "Web Development" : "Data Engineering");
+        project.setStatus(i % 3 == 0 ? "In Progress" : "Completed");
+        project.setStartDate("2023-01-01");
+        project.setEndDate("2023-06-30");
+        project.setFeatures(List.of("Responsive Design", "User Authentication", "Real-time Updates"));
+        return project;
+    }
+
+    private static Portfolio.Skill skill(int i, boolean withIds) {
+        Portfolio.Skill skill = new Portfolio.Skill();
+        skill.setId(withIds ? "skill-" + i : null);
+        skill.setName(TECHNOLOGIES.get(i % TECHNOLOGIES.size()) + (i < TECHNOLOGIES.size() ? "" : " " + i));
+        skill.setCategory(i % 2 == 0 ? "Frontend" : "Backend");
+        skill.setProficiency(50 + i % 50);
+        skill.setIcon("skill-icon-" + i);
+        skill.setDescription("Hands-on experience building production systems, level " + i);
+        skill.setProjects(List.of("project-" + i % 3, "project-" + (i + 1) % 3));
+        return skill;
+    }
+
+    private static Portfolio.Achievement achievement(int i, boolean withIds) {
+        Portfolio.Achievement achievement = new Portfolio.Achievement();
+        achievement.setId(withIds ? "achievement-" + i : null);
+        achievement.setTitle("AWS Certified Developer " + i);
+        achievement.setDescription("Certified in AWS cloud development");
+        achievement.setDate("2023-06-15");
+        achievement.setOrganization("Amazon Web Services");
+        achievement.setCertificateUrl("https://aws.amazon.com/certification/" + i);
+        achievement.setImageUrl("/assets/images/aws-cert.jpg");
+        achievement.setCategory("Certification");
+        achievement.setSkills(List.of("AWS", "Cloud Computing"));
+        return achievement;
+    }
+
+    private static Portfolio.Experience experience(int i, boolean withIds) {
+        Portfolio.Experience experience = new Portfolio.Experience();
+        experience.setId(withIds ? "experience-" + i : null);
+        experience.setCompany("Tech Solutions " + i);
+        experience.setPosition("Senior Full Stack Developer");
+        experience.setDescription("Led development of multiple web applications and mentored junior developers");
+        experience.setStartDate("2022-01-01");
+        experience.setEndDate("Present");
+        experience.setLocation("Remote");
+        experience.setResponsibilities(List.of("Developed 5+ web applications", "Mentored 3 junior developers", "Improved system performance by 40%"));
+        experience.setTechnologies(technologies(i, 3));
+        experience.setCompanyLogo("/assets/images/company-" + i + "-logo.jpg");
+        return experience;
+    }
+
+    private static Portfolio.Education education(int i, boolean withIds) {
+        Portfolio.Education education = new Portfolio.Education();
+        education.setId(withIds ? "education-" + i : null);
+        education.setInstitution("Indian Institute of Technology " + i);
+        education.setDegree("Bachelor of Technology");
+        education.setField("Computer Science and Engineering");
+        education.setStartDate("2016-07-01");
+        education.setEndDate("2020-05-31");
+        education.setGrade("8.5 CGPA");
+        education.setDescription("Specialized in software engineering and data structures");
+        education.setCourses(List.of("Data Structures", "Algorithms", "Database Systems", "Software Engineering"));
+        education.setLogo("/assets/images/iit-logo.jpg");
+        return education;
+    }
+
+    private static Portfolio.Travel travel(int i, boolean withIds) {
+        Portfolio.Travel travel = new Portfolio.Travel();
+        travel.setId(withIds ? "travel-" + i : null);
+        travel.setDestination(i % 2 == 0 ? "Goa" : "Manali");
+        travel.setCountry("India");
+        travel.setDescription("Beautiful beaches, scenic mountain views and vibrant culture");
+        travel.setDate("2023-12-01");
+        travel.setImages(List.of("/assets/images/travel-" + i + "-1.jpg", "/assets/images/travel-" + i + "-2.jpg"));
+        travel.setHighlights(List.of("Beach surfing", "Local cuisine", "Sunset photography"));
+        travel.setDuration("5 days");
+        return travel;
+    }
+
+    private static Portfolio.Hackathon hackathon(int i, boolean withIds) {
+        Portfolio.Hackathon hackathon = new Portfolio.Hackathon();
+        hackathon.setId(withIds ? "hackathon-" + i : null);
+        hackathon.setName("TechFest " + i);
+        hackathon.setDescription("National level hackathon focused on social impact");
+        hackathon.setDate("2023-03-18");
+        hackathon.setLocation("Mumbai, India");
+        hackathon.setResult("1st Place");
+        hackathon.setProjectTitle("EcoTrack " + i);
+        hackathon.setProjectDescription("Mobile app for tracking and reducing carbon footprint");
+        hackathon.setTechnologies(technologies(i, 3));
+        hackathon.setGithubUrl("https://github.com/uttamsingh/ecotrack-" + i);
+        hackathon.setPresentationUrl("https://slides.com/ecotrack-" + i);
+        hackathon.setTeamMembers(List.of("Uttam Singh", "John Doe", "Jane Smith"));
+        return hackathon;
+    }
+
+    private static List<String> technologies(int offset, int count) {
+        List<String> technologies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            technologies.add(TECHNOLOGIES.get((offset + i) % TECHNOLOGIES.size()));
+        }
+        return technologies;
+    }
+
+    private static <T> List<T> repeat(int count, IntFunction<T> factory) {
+        List<T> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(factory.apply(i));
+        }
+        return items;
+    }
+}
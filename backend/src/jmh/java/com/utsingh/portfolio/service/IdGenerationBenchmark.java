@@ -0,0 +1,82 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.benchmark.PortfolioFixtures;
+import com.utsingh.portfolio.benchmark.PortfolioFixtures.Size;
+import com.utsingh.portfolio.model.Portfolio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PortfolioService#generateIdsForNestedObjects} on a freshly posted portfolio, where every nested id is missing,
+ * with random UUIDs against {@link SortableIdGenerator}. Each invocation works on a fresh copy of the fixture;
+ * {@link #copyOnly} measures that copy on its own.
+ * Runs on several threads sharing one generator, since ids are generated concurrently by request threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+public class IdGenerationBenchmark {
+
+    /**
+     * One generator for all benchmark threads, like the application's singleton bean
+     */
+    @State(Scope.Benchmark)
+    public static class Generator {
+
+        @Param({"uuid", "sortable"})
+        private String generator;
+
+        IdGenerator ids;
+
+        @Setup
+        public void setUp() {
+            ids = generator.equals("uuid") ? () -> UUID.randomUUID().toString() : new SortableIdGenerator();
+        }
+    }
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private Size size;
+
+    private Portfolio template;
+
+    /**
+     * Document without nested ids, copied by every invocation since ids that are already present are skipped
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        template = PortfolioFixtures.portfolio(size, false);
+    }
+
+    @Benchmark
+    public Portfolio generateIdsForNestedObjects(Generator generator) {
+        Portfolio portfolio = template.copy();
+        PortfolioService.generateIdsForNestedObjects(portfolio, generator.ids);
+        return portfolio;
+    }
+
+    /**
+     * Cost of the copy alone, to subtract from {@link #generateIdsForNestedObjects}
+     */
+    @Benchmark
+    public Portfolio copyOnly() {
+        return template.copy();
+    }
+}
@@ -0,0 +1,36 @@
+package com.utsingh.portfolio.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single {@link IdGenerator#nextId()}, on one thread and on several threads sharing the generator,
+ * where {@link java.util.UUID#randomUUID()} serializes on its shared {@link java.security.SecureRandom}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NextIdBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread(IdGenerationBenchmark.Generator generator) {
+        return generator.ids.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String fourThreads(IdGenerationBenchmark.Generator generator) {
+        return generator.ids.nextId();
+    }
+}
@@ -1,9 +1,12 @@
 package com.utsingh.portfolio;
 
+import com.utsingh.portfolio.config.PortfolioRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(PortfolioRuntimeHints.class)
 public class PortfolioApplication {
 
 	public static void main(String[] args) {
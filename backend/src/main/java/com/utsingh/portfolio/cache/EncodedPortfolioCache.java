@@ -0,0 +1,120 @@
+package com.utsingh.portfolio.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON and gzip encodings of each portfolio version, held off-heap in direct buffers.
+ * Encodings are rebuilt in the background once per write, so reads skip Jackson and compression.
+ */
+@Component
+public class EncodedPortfolioCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EncodedPortfolioCache.class);
+
+    @lombok.Value
+    public static class EncodedPortfolio {
+        String etag;
+        ByteBuffer json;
+        ByteBuffer gzip;
+
+        public int weight() {
+            return json.capacity() + gzip.capacity();
+        }
+    }
+
+    private final Cache<String, EncodedPortfolio> entries;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService encoder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "portfolio-encoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EncodedPortfolioCache(ObjectMapper objectMapper,
+                                 @Value("${portfolio.encoded-cache.max-weight-bytes:67108864}") long maxWeightBytes) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String id, EncodedPortfolio encoded) -> encoded.weight())
+                .build();
+    }
+
+    /**
+     * Encodings of the portfolio, only if they were built from the version carrying {@code etag}
+     */
+    public Optional<EncodedPortfolio> find(String id, String etag) {
+        EncodedPortfolio encoded = entries.getIfPresent(id);
+        return encoded != null && encoded.getEtag().equals(etag) ? Optional.of(encoded) : Optional.empty();
+    }
+
+    /**
+     * Build encodings for a document served from the object path so later reads can use them
+     */
+    public void prime(Portfolio portfolio, String etag) {
+        if (portfolio.getId() == null || find(portfolio.getId(), etag).isPresent()) {
+            return;
+        }
+        encoder.execute(() -> encode(portfolio, etag));
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        entries.invalidate(event.getPortfolioId());
+        if (event.getPortfolio() != null) {
+            encoder.execute(() -> encode(event.getPortfolio(), null));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        encoder.shutdownNow();
+    }
+
+    /**
+     * The ETag is re-derived from the serialized bytes, matching {@link PortfolioVersionRegistry}
+     */
+    private void encode(Portfolio portfolio, String expectedEtag) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(portfolio);
+            String etag = PortfolioVersionRegistry.etagOf(json);
+            if (expectedEtag != null && !expectedEtag.equals(etag)) {
+                return;
+            }
+            entries.put(portfolio.getId(), new EncodedPortfolio(etag, offHeap(json), offHeap(gzip(json))));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to pre-encode portfolio {}", portfolio.getId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static ByteBuffer offHeap(byte[] content) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+        buffer.put(content).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+}
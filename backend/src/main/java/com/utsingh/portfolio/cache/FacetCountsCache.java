@@ -0,0 +1,63 @@
+package com.utsingh.portfolio.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Facet counts per data version: computed once, then served until a write changes the portfolio they cover.
+ * Cross-portfolio counts are dropped on every write.
+ */
+@Component
+@Profile("!heroku & !reactive")
+public class FacetCountsCache {
+
+    private static final String ALL_KEY = "*";
+    private static final int MAX_ENTRIES = 1024;
+
+    private final Cache<String, Map<String, Map<String, Long>>> entries = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .build();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Counts for one portfolio, or all of them when {@code portfolioId} is null
+     */
+    public Map<String, Map<String, Long>> get(String portfolioId, Supplier<Map<String, Map<String, Long>>> loader) {
+        String key = portfolioId != null ? portfolioId : ALL_KEY;
+        Map<String, Map<String, Long>> cached = entries.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = generation.get();
+        Map<String, Map<String, Long>> counts = readOnly(loader.get());
+        entries.put(key, counts);
+        // A write that raced with the aggregation may not be reflected in it
+        if (generation.get() != stamp) {
+            entries.invalidate(key);
+        }
+        return counts;
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        generation.incrementAndGet();
+        entries.invalidate(ALL_KEY);
+        entries.invalidate(event.getPortfolioId());
+    }
+
+    private static Map<String, Map<String, Long>> readOnly(Map<String, Map<String, Long>> counts) {
+        Map<String, Map<String, Long>> copy = new LinkedHashMap<>();
+        counts.forEach((facet, values) -> copy.put(facet, Collections.unmodifiableMap(new LinkedHashMap<>(values))));
+        return Collections.unmodifiableMap(copy);
+    }
+}
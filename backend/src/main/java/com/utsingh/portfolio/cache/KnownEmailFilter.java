@@ -0,0 +1,143 @@
+package com.utsingh.portfolio.cache;
+
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.repository.PortfolioFeed;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of every stored {@code personalInfo.email}, so existence checks for unknown emails skip MongoDB.
+ * Until the first build completes every email is reported as possibly present.
+ * Deletes and email changes leave stale bits behind; the filter is rebuilt once they add up.
+ */
+@Component
+@Profile("!heroku")
+public class KnownEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownEmailFilter.class);
+
+    private final PortfolioFeed portfolioFeed;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final AtomicLong staleEntries = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile BloomFilter current;
+    private volatile BloomFilter next;
+    private volatile long capacity;
+
+    public KnownEmailFilter(PortfolioFeed portfolioFeed,
+                            @Value("${portfolio.email-filter.expected-insertions:10000}") long expectedInsertions,
+                            @Value("${portfolio.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.portfolioFeed = portfolioFeed;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.capacity = expectedInsertions;
+    }
+
+    /**
+     * False only when no stored portfolio has this email
+     */
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(email);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        if (event.getPortfolio() != null) {
+            String email = emailOf(event.getPortfolio());
+            if (email != null) {
+                add(email);
+            }
+            // A full update may have replaced the email, leaving the old one behind
+            staleEntries.incrementAndGet();
+        } else if (event.isDeleted()) {
+            staleEntries.incrementAndGet();
+        }
+        // Sub-document writes (no portfolio, not deleted) never touch personalInfo
+        if (staleEntries.get() > capacity / 10 || insertions.get() > capacity) {
+            scheduleRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    private void add(String email) {
+        insertions.incrementAndGet();
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.add(email);
+        }
+        // Writes racing with a rebuild must also land in the filter being built
+        BloomFilter building = next;
+        if (building != null) {
+            building.add(email);
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            builder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            long size = Math.max(expectedInsertions, portfolioFeed.count() * 2);
+            BloomFilter building = new BloomFilter(size, falsePositiveRate);
+            next = building;
+            long stale = staleEntries.getAndSet(0);
+            AtomicLong count = new AtomicLong();
+            try (Stream<String> emails = portfolioFeed.streamEmails()) {
+                emails.forEach(email -> {
+                    building.add(email);
+                    count.incrementAndGet();
+                });
+            }
+            current = building;
+            capacity = size;
+            insertions.set(count.get());
+            log.debug("Rebuilt email filter with {} emails ({} stale entries dropped)", count, stale);
+        } catch (RuntimeException e) {
+            log.warn("Failed to build email filter, existence checks fall through to MongoDB", e);
+        } finally {
+            next = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private static String emailOf(Portfolio portfolio) {
+        return portfolio.getPersonalInfo() != null ? portfolio.getPersonalInfo().getEmail() : null;
+    }
+}
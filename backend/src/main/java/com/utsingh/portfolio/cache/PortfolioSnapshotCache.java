@@ -0,0 +1,188 @@
+package com.utsingh.portfolio.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, size-aware read-through cache of portfolio snapshots keyed by id and by name.
+ * Snapshots are private copies: callers get their own copy on every read, so changing one never reaches the cache.
+ * Entries are invalidated from {@link PortfolioChangedEvent}s published by the write paths.
+ */
+@Component
+@Profile("!heroku & !reactive")
+public class PortfolioSnapshotCache {
+
+    private static final String ALL_KEY = "all";
+    private static final String ID_PREFIX = "id:";
+    private static final String NAME_PREFIX = "name:";
+    // Estimated serialized bytes per document and per section item, so entries are weighed without serializing them
+    private static final int PORTFOLIO_WEIGHT = 1024;
+    private static final int ITEM_WEIGHT = 384;
+
+    private final Cache<String, Object> entries;
+    private final Map<String, String> nameById = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public PortfolioSnapshotCache(@Value("${portfolio.cache.max-weight-bytes:33554432}") long maxWeightBytes) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, Object value) -> weigh(value))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get all portfolios, loading them once per change
+     */
+    @SuppressWarnings("unchecked")
+    public List<Portfolio> getAll(Supplier<List<Portfolio>> loader) {
+        List<Portfolio> cached = (List<Portfolio>) entries.getIfPresent(ALL_KEY);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long stamp = generation.get();
+        List<Portfolio> loaded = loader.get();
+        putIfCurrent(stamp, ALL_KEY, List.copyOf(copyOf(loaded)));
+        return loaded;
+    }
+
+    /**
+     * Get portfolio by ID, falling back to the loader on a miss
+     */
+    public Optional<Portfolio> getById(String id, Supplier<Optional<Portfolio>> loader) {
+        Portfolio cached = (Portfolio) entries.getIfPresent(ID_PREFIX + id);
+        if (cached != null) {
+            return Optional.of(cached.copy());
+        }
+        long stamp = generation.get();
+        Optional<Portfolio> loaded = loader.get();
+        loaded.ifPresent(portfolio -> putPortfolio(stamp, portfolio));
+        return loaded;
+    }
+
+    /**
+     * Get portfolio by name; the name entry only references the id entry so the document is stored once
+     */
+    public Optional<Portfolio> getByName(String name, Supplier<Optional<Portfolio>> loader) {
+        String id = (String) entries.getIfPresent(NAME_PREFIX + name);
+        if (id != null) {
+            Portfolio cached = (Portfolio) entries.getIfPresent(ID_PREFIX + id);
+            if (cached != null && name.equals(nameOf(cached))) {
+                return Optional.of(cached.copy());
+            }
+        }
+        long stamp = generation.get();
+        Optional<Portfolio> loaded = loader.get();
+        loaded.ifPresent(portfolio -> putPortfolio(stamp, portfolio));
+        return loaded;
+    }
+
+    /**
+     * Drop every entry that could reflect the previous state of the changed portfolio
+     */
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        generation.incrementAndGet();
+        String id = event.getPortfolioId();
+        List<String> keys = new ArrayList<>();
+        keys.add(ALL_KEY);
+        keys.add(ID_PREFIX + id);
+        String previousName = nameById.remove(id);
+        if (previousName != null) {
+            keys.add(NAME_PREFIX + previousName);
+        }
+        String newName = event.getPortfolio() != null ? nameOf(event.getPortfolio()) : null;
+        if (newName != null) {
+            keys.add(NAME_PREFIX + newName);
+        }
+        entries.invalidateAll(keys);
+    }
+
+    /**
+     * Hit, miss and eviction counters for monitoring
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = entries.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        result.put("entryCount", entries.estimatedSize());
+        entries.policy().eviction().ifPresent(eviction -> {
+            result.put("weightedSizeBytes", eviction.weightedSize().orElse(0L));
+            result.put("maxWeightBytes", eviction.getMaximum());
+        });
+        return result;
+    }
+
+    private void putPortfolio(long stamp, Portfolio portfolio) {
+        if (portfolio.getId() == null) {
+            return;
+        }
+        putIfCurrent(stamp, ID_PREFIX + portfolio.getId(), portfolio.copy());
+        String name = nameOf(portfolio);
+        if (name != null) {
+            nameById.put(portfolio.getId(), name);
+            putIfCurrent(stamp, NAME_PREFIX + name, portfolio.getId());
+        }
+    }
+
+    /**
+     * A write that raced with the load bumps the generation, in which case the loaded value may be stale
+     */
+    private void putIfCurrent(long stamp, String key, Object value) {
+        entries.put(key, value);
+        if (generation.get() != stamp) {
+            entries.invalidate(key);
+        }
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof String id) {
+            return id.length();
+        }
+        if (value instanceof Portfolio portfolio) {
+            return weigh(portfolio);
+        }
+        return ((List<?>) value).stream().mapToInt(portfolio -> weigh((Portfolio) portfolio)).sum();
+    }
+
+    private static int weigh(Portfolio portfolio) {
+        int items = sizeOf(portfolio.getProjects()) + sizeOf(portfolio.getSkills()) + sizeOf(portfolio.getAchievements())
+                + sizeOf(portfolio.getExperiences()) + sizeOf(portfolio.getEducation()) + sizeOf(portfolio.getTravels())
+                + sizeOf(portfolio.getHackathons());
+        return PORTFOLIO_WEIGHT + items * ITEM_WEIGHT;
+    }
+
+    private static int sizeOf(List<?> items) {
+        return items != null ? items.size() : 0;
+    }
+
+    private static List<Portfolio> copyOf(List<Portfolio> portfolios) {
+        List<Portfolio> copies = new ArrayList<>(portfolios.size());
+        portfolios.forEach(portfolio -> copies.add(portfolio.copy()));
+        return copies;
+    }
+
+    private static String nameOf(Portfolio portfolio) {
+        return portfolio.getPersonalInfo() != null ? portfolio.getPersonalInfo().getName() : null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.utsingh.portfolio.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import lombok.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strong ETags and Last-Modified timestamps per portfolio, computed once per change.
+ * Conditional GETs are answered from here without loading or hashing the document, and a read of a version
+ * that is already tagged reuses its tag instead of hashing the document again.
+ */
+@Component
+public class PortfolioVersionRegistry {
+
+    @Value
+    public static class VersionTag {
+        String etag;
+        Instant lastModified;
+        Long version;
+    }
+
+    @Value
+    private static class ListingTag {
+        VersionTag tag;
+        long generation;
+    }
+
+    private final Map<String, VersionTag> tagsById = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByName = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile ListingTag allTag;
+    private final ObjectMapper objectMapper;
+
+    public PortfolioVersionRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stamp to take before loading a document whose tag is later registered with {@link #tagFor}
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public Optional<VersionTag> findById(String id) {
+        return Optional.ofNullable(tagsById.get(id));
+    }
+
+    public Optional<VersionTag> findByName(String name) {
+        return findIdByName(name).flatMap(this::findById);
+    }
+
+    public Optional<String> findIdByName(String name) {
+        return Optional.ofNullable(idsByName.get(name));
+    }
+
+    public Optional<VersionTag> findForAll() {
+        ListingTag listing = allTag;
+        return listing != null && listing.getGeneration() == generation.get() ? Optional.of(listing.getTag()) : Optional.empty();
+    }
+
+    /**
+     * Tag already registered for exactly this version of the document, found without hashing it
+     */
+    public Optional<VersionTag> findCurrent(Portfolio portfolio) {
+        VersionTag known = portfolio.getId() != null ? tagsById.get(portfolio.getId()) : null;
+        if (known != null && known.getVersion() != null && known.getVersion().equals(portfolio.getVersion())) {
+            return Optional.of(known);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tag for a document loaded by a read; only registered if no write happened since {@code stamp}.
+     * The document is hashed only when its version has not been tagged yet.
+     */
+    public VersionTag tagFor(Portfolio portfolio, long stamp) {
+        Optional<VersionTag> current = findCurrent(portfolio);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        VersionTag known = portfolio.getId() != null ? tagsById.get(portfolio.getId()) : null;
+        String etag = etagOf(serialize(portfolio));
+        if (known != null && known.getEtag().equals(etag)) {
+            return known;
+        }
+        VersionTag tag = new VersionTag(etag, now(), portfolio.getVersion());
+        if (portfolio.getId() != null && generation.get() == stamp) {
+            tagsById.putIfAbsent(portfolio.getId(), tag);
+            String name = nameOf(portfolio);
+            if (name != null) {
+                idsByName.put(name, portfolio.getId());
+            }
+            if (generation.get() != stamp) {
+                tagsById.remove(portfolio.getId(), tag);
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Strong tag of the gzip encoded variant of a version; its bytes differ, so it needs a tag of its own
+     */
+    public static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    /**
+     * Whether an {@code If-Match} header names this version, through the tag of either encoding. RFC 9110 requires
+     * the strong comparison here, so a weak tag never matches.
+     */
+    public static boolean matches(String ifMatch, VersionTag tag) {
+        String gzipEtag = gzipEtag(tag.getEtag());
+        for (String candidate : ifMatch.split(",")) {
+            String etag = candidate.trim();
+            if (etag.equals("*") || etag.equals(tag.getEtag()) || etag.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tag for the full listing, derived from the per-document tags and kept until the next change
+     */
+    public VersionTag tagForAll(List<Portfolio> portfolios, long stamp) {
+        ListingTag listing = allTag;
+        if (listing != null && listing.getGeneration() == stamp && generation.get() == stamp) {
+            return listing.getTag();
+        }
+        StringBuilder combined = new StringBuilder();
+        portfolios.forEach(portfolio -> combined.append(tagFor(portfolio, stamp).getEtag()));
+        VersionTag tag = new VersionTag(etagOf(combined.toString().getBytes(StandardCharsets.UTF_8)), now(), null);
+        if (generation.get() == stamp) {
+            allTag = new ListingTag(tag, stamp);
+        }
+        return tag;
+    }
+
+    /**
+     * Re-tag the changed document from the state the write path stored
+     */
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        generation.incrementAndGet();
+        String id = event.getPortfolioId();
+        idsByName.values().remove(id);
+        if (event.getPortfolio() == null) {
+            // Deleted, or updated without reading the document back: the next read re-tags it
+            tagsById.remove(id);
+            return;
+        }
+        Portfolio portfolio = event.getPortfolio();
+        tagsById.put(id, new VersionTag(etagOf(serialize(portfolio)), now(), portfolio.getVersion()));
+        String name = nameOf(portfolio);
+        if (name != null) {
+            idsByName.put(name, id);
+        }
+    }
+
+    private byte[] serialize(Portfolio portfolio) {
+        try {
+            return objectMapper.writeValueAsBytes(portfolio);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize portfolio " + portfolio.getId(), e);
+        }
+    }
+
+    static String etagOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String nameOf(Portfolio portfolio) {
+        return portfolio.getPersonalInfo() != null ? portfolio.getPersonalInfo().getName() : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.utsingh.portfolio.config;
+
+import com.utsingh.portfolio.service.IdGenerator;
+import com.utsingh.portfolio.service.SortableIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Id generator for nested section items: {@code sortable} (compact and time-ordered) or {@code uuid} (random)
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${portfolio.ids.generator:sortable}") String generator) {
+        return switch (generator) {
+            case "sortable" -> new SortableIdGenerator();
+            case "uuid" -> () -> UUID.randomUUID().toString();
+            default -> throw new IllegalArgumentException("Unknown id generator: " + generator);
+        };
+    }
+}
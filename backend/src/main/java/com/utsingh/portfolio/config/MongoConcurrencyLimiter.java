@@ -0,0 +1,82 @@
+package com.utsingh.portfolio.config;
+
+import com.utsingh.portfolio.repository.PortfolioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds concurrent {@link PortfolioRepository} calls so an unbounded number of (virtual) request threads queue
+ * here, fairly and without pinning, instead of piling onto the connection pool's wait queue.
+ * Enabled when {@code portfolio.mongo.max-concurrent-operations} is positive; keep it at or below the pool size
+ * in {@link MongoConfig}. Streams hold their cursor after the call returns and are only throttled while opening.
+ */
+@Component
+@Profile("!heroku & !reactive")
+@ConditionalOnExpression("${portfolio.mongo.max-concurrent-operations:0} > 0")
+public class MongoConcurrencyLimiter implements BeanPostProcessor, MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConcurrentOperations;
+    private final Duration acquireTimeout;
+
+    public MongoConcurrencyLimiter(Environment environment) {
+        this.maxConcurrentOperations = environment.getRequiredProperty("portfolio.mongo.max-concurrent-operations", Integer.class);
+        this.acquireTimeout = environment.getProperty("portfolio.mongo.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        this.permits = new Semaphore(maxConcurrentOperations, true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof PortfolioRepository)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addInterface(PortfolioRepository.class);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new TransientDataAccessResourceException("Timed out after " + acquireTimeout
+                        + " waiting for one of " + maxConcurrentOperations + " MongoDB permits");
+            }
+            try {
+                return invocation.proceed();
+            } finally {
+                permits.release();
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("portfolio.mongo.permits.available", permits, Semaphore::availablePermits)
+                .description("Repository calls that can start without waiting")
+                .register(registry);
+        Gauge.builder("portfolio.mongo.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Repository calls waiting for a permit")
+                .register(registry);
+    }
+}
@@ -4,6 +4,8 @@ import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +16,7 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
-@Profile("!heroku")
+@Profile("!heroku & !reactive")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Value("${spring.data.mongodb.uri}")
@@ -23,6 +25,9 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.database}")
     private String databaseName;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected String getDatabaseName() {
         return databaseName;
@@ -31,11 +36,14 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Override
     public MongoClient mongoClient() {
         ConnectionString connectionString = new ConnectionString(mongoUri);
+        MongoMetricsListener metricsListener = new MongoMetricsListener(meterRegistry);
         
         MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
                 .applyConnectionString(connectionString)
+                .addCommandListener(metricsListener)
                 .applyToConnectionPoolSettings(builder -> 
-                    builder.maxWaitTime(30, TimeUnit.SECONDS)
+                    builder.addConnectionPoolListener(metricsListener)
+                           .maxWaitTime(30, TimeUnit.SECONDS)
                            .maxConnectionIdleTime(0, TimeUnit.MILLISECONDS)
                            .maxConnectionLifeTime(0, TimeUnit.MILLISECONDS)
                            .minSize(0)
@@ -0,0 +1,207 @@
+package com.utsingh.portfolio.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Driver-level metrics registered on the client built in {@link MongoConfig#mongoClient()}:
+ * per-command latency ({@code mongodb.commands}) and reply size ({@code mongodb.commands.reply.size}),
+ * tagged by command, collection and status, plus connection pool gauges and check-out wait time per server.
+ */
+public class MongoMetricsListener implements CommandListener, ConnectionPoolListener {
+
+    /** Commands whose first value is not a collection name */
+    private static final Set<String> COLLECTIONLESS_COMMANDS = Set.of("getMore", "killCursors", "endSessions",
+            "commitTransaction", "abortTransaction", "hello", "isMaster", "ping", "buildInfo", "saslStart", "saslContinue");
+
+    private final MeterRegistry registry;
+    private final Map<Integer, String> collectionsByRequest = new ConcurrentHashMap<>();
+    private final Map<String, PoolState> pools = new ConcurrentHashMap<>();
+
+    public MongoMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collectionsByRequest.put(event.getRequestId(), collectionOf(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collectionsByRequest.remove(event.getRequestId());
+        Tags tags = commandTags(event.getCommandName(), collection, "SUCCESS");
+        record(tags, event.getElapsedTime(TimeUnit.NANOSECONDS));
+        int replySize = sizeOf(event.getResponse());
+        if (replySize >= 0) {
+            DistributionSummary.builder("mongodb.commands.reply.size")
+                    .description("Size of MongoDB command replies")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry)
+                    .record(replySize);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        String collection = collectionsByRequest.remove(event.getRequestId());
+        record(commandTags(event.getCommandName(), collection, "FAILED"), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        String server = event.getServerId().getAddress().toString();
+        PoolState pool = new PoolState();
+        pools.put(server, pool);
+        pool.meters.add(gauge("mongodb.pool.size", "Open connections", server, pool.size));
+        pool.meters.add(gauge("mongodb.pool.checkedout", "Connections in use", server, pool.checkedOut));
+        pool.meters.add(gauge("mongodb.pool.waitqueue", "Operations waiting for a connection", server, pool.waitQueue));
+        pool.meters.add(Gauge.builder("mongodb.pool.max", () -> event.getSettings().getMaxSize())
+                .description("Maximum connections")
+                .tag("server.address", server)
+                .register(registry));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        PoolState pool = pools.remove(event.getServerId().getAddress().toString());
+        if (pool != null) {
+            pool.meters.forEach(registry::remove);
+        }
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        pool(event.getConnectionId().getServerId().getAddress().toString(), pool -> pool.size.incrementAndGet());
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        pool(event.getConnectionId().getServerId().getAddress().toString(), pool -> pool.size.decrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        pool(event.getServerId().getAddress().toString(), pool -> pool.waitQueue.incrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        String server = event.getConnectionId().getServerId().getAddress().toString();
+        pool(server, pool -> {
+            pool.waitQueue.decrementAndGet();
+            pool.checkedOut.incrementAndGet();
+        });
+        waitTimer(server, "SUCCESS").record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        String server = event.getServerId().getAddress().toString();
+        pool(server, pool -> pool.waitQueue.decrementAndGet());
+        waitTimer(server, event.getReason().name()).record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        pool(event.getConnectionId().getServerId().getAddress().toString(), pool -> pool.checkedOut.decrementAndGet());
+    }
+
+    private void record(Tags tags, long elapsedNanos) {
+        Timer.builder("mongodb.commands")
+                .description("MongoDB command latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer waitTimer(String server, String status) {
+        return Timer.builder("mongodb.pool.wait")
+                .description("Time spent waiting to check out a connection")
+                .tags("server.address", server, "status", status)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Meter gauge(String name, String description, String server, AtomicInteger value) {
+        return Gauge.builder(name, value, AtomicInteger::get)
+                .description(description)
+                .tag("server.address", server)
+                .register(registry);
+    }
+
+    private void pool(String server, Consumer<PoolState> update) {
+        PoolState pool = pools.get(server);
+        if (pool != null) {
+            update.accept(pool);
+        }
+    }
+
+    private static Tags commandTags(String command, String collection, String status) {
+        return Tags.of("command", command, "collection", collection != null ? collection : "none", "status", status);
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        if (COLLECTIONLESS_COMMANDS.contains(commandName) || command.isEmpty()) {
+            return commandName.equals("getMore") && command.containsKey("collection")
+                    ? command.getString("collection").getValue()
+                    : null;
+        }
+        BsonValue value = command.get(command.getFirstKey());
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    /**
+     * Reply size read from the BSON length prefix of the wire buffer, so the reply is not re-encoded; -1 if unknown
+     */
+    private static int sizeOf(BsonDocument response) {
+        if (response instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        try (BsonReader reader = response.asBsonReader()) {
+            return reader instanceof BsonBinaryReader binary ? binary.getBsonInput().readInt32() : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static class PoolState {
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicInteger checkedOut = new AtomicInteger();
+        final AtomicInteger waitQueue = new AtomicInteger();
+        final List<Meter> meters = new ArrayList<>();
+    }
+}
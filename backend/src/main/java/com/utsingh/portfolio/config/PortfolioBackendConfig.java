@@ -0,0 +1,65 @@
+package com.utsingh.portfolio.config;
+
+import com.utsingh.portfolio.cache.PortfolioSnapshotCache;
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry;
+import com.utsingh.portfolio.service.CachingPortfolioBackend;
+import com.utsingh.portfolio.service.CoalescingPortfolioBackend;
+import com.utsingh.portfolio.service.PortfolioBackend;
+import com.utsingh.portfolio.service.ReadOnlyFallbackPortfolioBackend;
+import com.utsingh.portfolio.service.TimedPortfolioBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Resolves the {@link PortfolioBackend} the API talks to once at startup: the storage backend of the active profile
+ * wrapped in the decorators named by {@code portfolio.backend.decorators}, outermost first.
+ * The reactive stack serves the API without one.
+ */
+@Configuration
+@Profile("!reactive")
+public class PortfolioBackendConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioBackendConfig.class);
+
+    @Bean
+    @Primary
+    public PortfolioBackend portfolioBackend(@Qualifier(PortfolioBackend.STORAGE) PortfolioBackend storage,
+                                             @Value("${portfolio.backend.decorators:}") List<String> decorators,
+                                             ObjectProvider<PortfolioSnapshotCache> snapshotCache,
+                                             @Value("${portfolio.fallback.max-entries:1000}") int fallbackMaxEntries,
+                                             PortfolioVersionRegistry versionRegistry,
+                                             MeterRegistry meterRegistry) {
+        // The fallback's last known results must never end up cached as if the backend had returned them
+        List<String> names = decorators.stream().map(String::trim).toList();
+        int caching = names.indexOf("caching");
+        if (caching >= 0 && names.indexOf("read-only-fallback") > caching) {
+            throw new IllegalArgumentException("The read-only-fallback decorator must wrap the caching decorator: " + names);
+        }
+        PortfolioBackend backend = storage;
+        for (int i = names.size() - 1; i >= 0; i--) {
+            String name = names.get(i);
+            backend = switch (name) {
+                case "metrics" -> TimedPortfolioBackend.wrap(backend, meterRegistry);
+                case "caching" -> new CachingPortfolioBackend(backend, snapshotCache.getIfAvailable(() -> {
+                    throw new IllegalStateException("The caching decorator needs the snapshot cache, which this profile does not provide");
+                }));
+                case "coalescing" -> new CoalescingPortfolioBackend(backend, versionRegistry::currentGeneration);
+                case "read-only-fallback" -> new ReadOnlyFallbackPortfolioBackend(backend, fallbackMaxEntries);
+                default -> throw new IllegalArgumentException("Unknown portfolio backend decorator: " + name);
+            };
+        }
+        log.info("Portfolio backend {} with decorators {}", ClassUtils.getUserClass(storage).getSimpleName(), decorators);
+        return backend;
+    }
+}
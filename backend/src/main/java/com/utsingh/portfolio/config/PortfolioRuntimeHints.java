@@ -0,0 +1,60 @@
+package com.utsingh.portfolio.config;
+
+import com.utsingh.portfolio.model.ImportSummary;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioPage;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.model.SectionPage;
+import com.utsingh.portfolio.repository.PortfolioRepository;
+import com.utsingh.portfolio.repository.PortfolioRepositoryCustomImpl;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+import com.utsingh.portfolio.service.PortfolioBackend;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Reflection and proxy hints for the native image, covering what Spring AOT cannot infer from the bean graph.
+ * The repository proxies themselves are registered by Spring Data's AOT processing.
+ */
+public class PortfolioRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> MODEL = List.of(Portfolio.class, Portfolio.PersonalInfo.class, Portfolio.Project.class,
+            Portfolio.Skill.class, Portfolio.Achievement.class, Portfolio.Experience.class, Portfolio.Education.class,
+            Portfolio.Travel.class, Portfolio.Hackathon.class);
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson (JSON bodies, Smile snapshots) and BeanWrapper section access, including bodies that are streamed
+        // or built from maps and so never appear in a controller signature
+        bindingHints.registerReflectionHints(hints.reflection(), MODEL.toArray(Class<?>[]::new));
+        bindingHints.registerReflectionHints(hints.reflection(), PortfolioPage.class, SectionPage.class, SearchHit.class,
+                ImportSummary.class, ImportSummary.Result.class, Suggestion.class);
+        // FieldProjection validates ?fields= paths against the declared fields of the model
+        MODEL.forEach(type -> hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS));
+
+        // Decorators create JDK proxies at runtime
+        hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(PortfolioBackend.class));
+        // MongoConcurrencyLimiter re-proxies the repository proxy with every interface it implements, in this order
+        // (java.lang.reflect.Proxy itself is Serializable)
+        hints.proxies().registerJdkProxy(PortfolioRepository.class, Repository.class, TransactionalProxy.class,
+                Advised.class, DecoratingProxy.class, Serializable.class);
+        hints.reflection().registerType(PortfolioRepositoryCustomImpl.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // The OpenAPI document from OpenApiConfig is serialized reflectively by springdoc
+        bindingHints.registerReflectionHints(hints.reflection(), OpenAPI.class);
+    }
+}
@@ -1,8 +1,25 @@
 package com.utsingh.portfolio.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.cache.ByteBufferResource;
+import com.utsingh.portfolio.cache.EncodedPortfolioCache;
+import com.utsingh.portfolio.cache.EncodedPortfolioCache.EncodedPortfolio;
+import com.utsingh.portfolio.cache.PortfolioSnapshotCache;
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry;
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry.VersionTag;
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.ImportSummary;
 import com.utsingh.portfolio.model.Portfolio;
-import com.utsingh.portfolio.service.PortfolioService;
-import com.utsingh.portfolio.service.HerokuPortfolioService;
+import com.utsingh.portfolio.model.PortfolioPage;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.model.SectionPage;
+import com.utsingh.portfolio.search.SuggestionField;
+import com.utsingh.portfolio.search.SuggestionIndex;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+import com.utsingh.portfolio.service.PortfolioBackend;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,35 +27,165 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/portfolio")
 @CrossOrigin(origins = {"*"})
 @Tag(name = "Portfolio", description = "Portfolio management API for managing personal portfolio data including projects, skills, achievements, and experiences")
 public class PortfolioController {
     
-    @Autowired(required = false)
-    private PortfolioService portfolioService;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+    
+    @Autowired
+    private PortfolioBackend backend;
     
     @Autowired(required = false)
-    private HerokuPortfolioService herokuPortfolioService;
+    private PortfolioSnapshotCache snapshotCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PortfolioVersionRegistry versionRegistry;
+    
+    @Autowired
+    private EncodedPortfolioCache encodedCache;
     
     @Autowired
-    private Environment environment;
+    private SuggestionIndex suggestionIndex;
     
-    private boolean isHerokuProfile() {
-        return Arrays.asList(environment.getActiveProfiles()).contains("heroku");
+    /**
+     * RFC 7240 {@code Prefer: return=minimal} skips reading the document back after a sub-document write
+     */
+    private static boolean prefersMinimal(String prefer) {
+        return prefer != null && prefer.replace(" ", "").toLowerCase().contains("return=minimal");
+    }
+    
+    private static ResponseEntity<Portfolio> updated(Portfolio portfolio) {
+        if (portfolio == null) {
+            return ResponseEntity.noContent().header("Preference-Applied", "return=minimal").build();
+        }
+        return ResponseEntity.ok(portfolio);
+    }
+    
+    /**
+     * Tag of the stored version, loading the document only when the registry has not seen it yet
+     */
+    private Optional<VersionTag> currentVersionTag(String id) {
+        Optional<VersionTag> known = versionRegistry.findById(id);
+        if (known.isPresent()) {
+            return known;
+        }
+        long stamp = versionRegistry.currentGeneration();
+        Optional<Portfolio> portfolio = backend.getPortfolioById(id);
+        return portfolio.map(stored -> versionRegistry.tagFor(stored, stamp));
+    }
+    
+    /**
+     * Version an If-Match header pins the write to; empty when the header names another version. A document stored
+     * before versioning counts as version 0, as it does for the backends.
+     */
+    private Optional<Long> expectedVersion(String id, String ifMatch) {
+        return currentVersionTag(id)
+                .filter(tag -> PortfolioVersionRegistry.matches(ifMatch, tag))
+                .map(tag -> tag.getVersion() != null ? tag.getVersion() : 0L);
+    }
+    
+    /**
+     * Tag of the body a read is about to send: the gzip variant has a strong tag of its own
+     */
+    private static String variantEtag(VersionTag tag, Optional<EncodedPortfolio> encoded, WebRequest request) {
+        boolean gzip = encoded.isPresent() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        return gzip ? PortfolioVersionRegistry.gzipEtag(tag.getEtag()) : tag.getEtag();
+    }
+    
+    private boolean isNotModified(WebRequest request, String etag, VersionTag tag) {
+        return request.checkNotModified(etag, tag.getLastModified().toEpochMilli());
+    }
+    
+    private <T> ResponseEntity<T> notModified(String etag, VersionTag tag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .lastModified(tag.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+    
+    private <T> ResponseEntity<T> withVersion(T body, VersionTag tag) {
+        return ResponseEntity.ok()
+                .eTag(tag.getEtag())
+                .lastModified(tag.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .body(body);
+    }
+    
+    private ResponseEntity<?> withVersionAndPrime(Optional<Portfolio> portfolio, long stamp) {
+        if (portfolio.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        VersionTag tag = versionRegistry.tagFor(portfolio.get(), stamp);
+        encodedCache.prime(portfolio.get(), tag.getEtag());
+        return withVersion(portfolio.get(), tag);
+    }
+    
+    /**
+     * Write pre-serialized bytes in the encoding {@code etag} was chosen for by {@link #variantEtag}
+     */
+    private ResponseEntity<Resource> withEncoding(EncodedPortfolio encoded, String etag, VersionTag tag) {
+        boolean gzip = !etag.equals(tag.getEtag());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .lastModified(tag.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(new ByteBufferResource(gzip ? encoded.getGzip() : encoded.getJson()));
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase();
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            return !rejected;
+        }
+        return false;
     }
     
     @Operation(
@@ -52,17 +199,106 @@ public class PortfolioController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<Portfolio>> getAllPortfolios() {
+    public ResponseEntity<?> getAllPortfolios(
+            @Parameter(description = "Comma separated fields to return, e.g. personalInfo,projects.title") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        try {
+            if (fields != null) {
+                FieldProjection projection = FieldProjection.parse(fields);
+                return ResponseEntity.ok(backend.getAllPortfolios(projection));
+            }
+            Optional<VersionTag> known = versionRegistry.findForAll();
+            if (known.isPresent() && isNotModified(request, known.get().getEtag(), known.get())) {
+                return notModified(known.get().getEtag(), known.get());
+            }
+            long stamp = versionRegistry.currentGeneration();
+            List<Portfolio> portfolios = backend.getAllPortfolios();
+            return withVersion(portfolios, versionRegistry.tagForAll(portfolios, stamp));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @Operation(
+        summary = "Get a page of portfolios",
+        description = "Keyset pagination in id order; pass the returned nextCursor back as 'after' to get the next page"
+    )
+    @GetMapping(params = "limit")
+    public ResponseEntity<PortfolioPage> getPortfolioPage(
+            @Parameter(description = "Page size, 1 to " + MAX_PAGE_SIZE) @RequestParam int limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            List<Portfolio> portfolios = isHerokuProfile() ? 
-                herokuPortfolioService.getAllPortfolios() : 
-                portfolioService.getAllPortfolios();
-            return ResponseEntity.ok(portfolios);
+            PortfolioPage page = backend.getPortfolioPage(after, limit);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    @Operation(
+        summary = "Stream all portfolios",
+        description = "Newline delimited JSON written document by document as a database cursor is iterated"
+    )
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPortfolios(
+            @Parameter(description = "Only stream portfolios after this id") @RequestParam(required = false) String after) {
+        StreamingResponseBody body = output -> {
+            try (Stream<Portfolio> portfolios = backend.streamPortfolios(after)) {
+                Iterator<Portfolio> iterator = portfolios.iterator();
+                while (iterator.hasNext()) {
+                    output.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    output.write('\n');
+                    output.flush();
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    @Operation(
+        summary = "Export all portfolios",
+        description = "Newline delimited JSON of every stored document in id order, gzip encoded when accepted. "
+                + "Pass the id of the last line received as after to resume an interrupted export."
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPortfolios(
+            @Parameter(description = "Resume after this id") @RequestParam(required = false) String after,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = output -> {
+            // Writes block while the client is slow, and fail once it disconnects, closing the cursor
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(output, EXPORT_BUFFER_SIZE) : null;
+            try (Stream<Map<String, Object>> documents = backend.exportPortfolios(after);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(compressed != null ? compressed : output)) {
+                // The container owns the response stream; only the gzip trailer is ours to finish
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                Iterator<Map<String, Object>> iterator = documents.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                }
+                generator.writeRaw('\n');
+            }
+            if (compressed != null) {
+                compressed.finish();
+            }
+        };
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+    
     @Operation(
         summary = "Get portfolio by ID",
         description = "Retrieve a specific portfolio by its unique identifier"
@@ -72,17 +308,39 @@ public class PortfolioController {
                     content = @Content(mediaType = "application/json", 
                                      schema = @Schema(implementation = Portfolio.class))),
         @ApiResponse(responseCode = "404", description = "Portfolio not found"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Database unreachable and the portfolio not read before")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Portfolio> getPortfolioById(
-            @Parameter(description = "Portfolio ID", required = true) @PathVariable String id) {
+    public ResponseEntity<?> getPortfolioById(
+            @Parameter(description = "Portfolio ID", required = true) @PathVariable String id,
+            @Parameter(description = "Comma separated fields to return, e.g. personalInfo,projects.title") @RequestParam(required = false) String fields,
+            WebRequest request) {
         try {
-            Optional<Portfolio> portfolio = isHerokuProfile() ? 
-                herokuPortfolioService.getPortfolioById(id) : 
-                portfolioService.getPortfolioById(id);
-            return portfolio.map(ResponseEntity::ok)
-                          .orElse(ResponseEntity.notFound().build());
+            if (fields != null) {
+                FieldProjection projection = FieldProjection.parse(fields);
+                Optional<Map<String, Object>> portfolio = backend.getPortfolioById(id, projection);
+                return portfolio.map(ResponseEntity::ok)
+                              .orElse(ResponseEntity.notFound().build());
+            }
+            Optional<VersionTag> known = versionRegistry.findById(id);
+            if (known.isPresent()) {
+                Optional<EncodedPortfolio> encoded = encodedCache.find(id, known.get().getEtag());
+                String etag = variantEtag(known.get(), encoded, request);
+                if (isNotModified(request, etag, known.get())) {
+                    return notModified(etag, known.get());
+                }
+                if (encoded.isPresent()) {
+                    return withEncoding(encoded.get(), etag, known.get());
+                }
+            }
+            long stamp = versionRegistry.currentGeneration();
+            Optional<Portfolio> portfolio = backend.getPortfolioById(id);
+            return withVersionAndPrime(portfolio, stamp);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -92,13 +350,35 @@ public class PortfolioController {
      * Get portfolio by name
      */
     @GetMapping("/name/{name}")
-    public ResponseEntity<Portfolio> getPortfolioByName(@PathVariable String name) {
+    public ResponseEntity<?> getPortfolioByName(@PathVariable String name,
+                                                @RequestParam(required = false) String fields,
+                                                WebRequest request) {
         try {
-            Optional<Portfolio> portfolio = isHerokuProfile() ? 
-                herokuPortfolioService.getPortfolioByName(name) : 
-                portfolioService.getPortfolioByName(name);
-            return portfolio.map(ResponseEntity::ok)
-                          .orElse(ResponseEntity.notFound().build());
+            if (fields != null) {
+                FieldProjection projection = FieldProjection.parse(fields);
+                Optional<Map<String, Object>> portfolio = backend.getPortfolioByName(name, projection);
+                return portfolio.map(ResponseEntity::ok)
+                              .orElse(ResponseEntity.notFound().build());
+            }
+            Optional<String> knownId = versionRegistry.findIdByName(name);
+            Optional<VersionTag> known = knownId.flatMap(versionRegistry::findById);
+            if (known.isPresent()) {
+                Optional<EncodedPortfolio> encoded = encodedCache.find(knownId.get(), known.get().getEtag());
+                String etag = variantEtag(known.get(), encoded, request);
+                if (isNotModified(request, etag, known.get())) {
+                    return notModified(etag, known.get());
+                }
+                if (encoded.isPresent()) {
+                    return withEncoding(encoded.get(), etag, known.get());
+                }
+            }
+            long stamp = versionRegistry.currentGeneration();
+            Optional<Portfolio> portfolio = backend.getPortfolioByName(name);
+            return withVersionAndPrime(portfolio, stamp);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -110,25 +390,46 @@ public class PortfolioController {
     @PostMapping
     public ResponseEntity<Portfolio> createPortfolio(@RequestBody Portfolio portfolio) {
         try {
-            Portfolio createdPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.createPortfolio(portfolio) : 
-                portfolioService.createPortfolio(portfolio);
+            Portfolio createdPortfolio = backend.createPortfolio(portfolio);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdPortfolio);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
     
+    /**
+     * Bulk import from a JSON array or NDJSON body, with a result per record
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportSummary> importPortfolios(HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(backend.importPortfolios(request.getInputStream()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Update existing portfolio
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Portfolio> updatePortfolio(@PathVariable String id, @RequestBody Portfolio portfolio) {
+    public ResponseEntity<Portfolio> updatePortfolio(@PathVariable String id, @RequestBody Portfolio portfolio,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.updatePortfolio(id, portfolio) : 
-                portfolioService.updatePortfolio(id, portfolio);
-            return ResponseEntity.ok(updatedPortfolio);
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                Optional<Long> pinned = expectedVersion(id, ifMatch);
+                if (pinned.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+                expectedVersion = pinned.get();
+            }
+            Portfolio updatedPortfolio = backend.updatePortfolio(id, portfolio, expectedVersion);
+            return versionRegistry.findById(id)
+                    .map(tag -> withVersion(updatedPortfolio, tag))
+                    .orElse(ResponseEntity.ok(updatedPortfolio));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -138,13 +439,22 @@ public class PortfolioController {
      * Delete portfolio by ID
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePortfolio(@PathVariable String id) {
+    public ResponseEntity<Void> deletePortfolio(@PathVariable String id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            boolean deleted = isHerokuProfile() ? 
-                herokuPortfolioService.deletePortfolio(id) : 
-                portfolioService.deletePortfolio(id);
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                Optional<Long> pinned = expectedVersion(id, ifMatch);
+                if (pinned.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+                expectedVersion = pinned.get();
+            }
+            boolean deleted = backend.deletePortfolio(id, expectedVersion);
             return deleted ? ResponseEntity.noContent().build() 
                           : ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -157,12 +467,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/projects")
     public ResponseEntity<Portfolio> addProject(@PathVariable String portfolioId, 
-                                               @RequestBody Portfolio.Project project) {
+                                               @RequestBody Portfolio.Project project,
+                                               @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addProject(portfolioId, project) : 
-                portfolioService.addProject(portfolioId, project);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addProject(portfolioId, project, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -176,12 +485,11 @@ public class PortfolioController {
     @PutMapping("/{portfolioId}/projects/{projectId}")
     public ResponseEntity<Portfolio> updateProject(@PathVariable String portfolioId,
                                                   @PathVariable String projectId,
-                                                  @RequestBody Portfolio.Project project) {
+                                                  @RequestBody Portfolio.Project project,
+                                                  @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.updateProject(portfolioId, projectId, project) : 
-                portfolioService.updateProject(portfolioId, projectId, project);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.updateProject(portfolioId, projectId, project, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -194,12 +502,11 @@ public class PortfolioController {
      */
     @DeleteMapping("/{portfolioId}/projects/{projectId}")
     public ResponseEntity<Portfolio> deleteProject(@PathVariable String portfolioId,
-                                                  @PathVariable String projectId) {
+                                                  @PathVariable String projectId,
+                                                  @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.deleteProject(portfolioId, projectId) : 
-                portfolioService.deleteProject(portfolioId, projectId);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.deleteProject(portfolioId, projectId, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -214,12 +521,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/skills")
     public ResponseEntity<Portfolio> addSkill(@PathVariable String portfolioId,
-                                             @RequestBody Portfolio.Skill skill) {
+                                             @RequestBody Portfolio.Skill skill,
+                                             @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addSkill(portfolioId, skill) : 
-                portfolioService.addSkill(portfolioId, skill);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addSkill(portfolioId, skill, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -234,12 +540,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/achievements")
     public ResponseEntity<Portfolio> addAchievement(@PathVariable String portfolioId,
-                                                   @RequestBody Portfolio.Achievement achievement) {
+                                                   @RequestBody Portfolio.Achievement achievement,
+                                                   @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addAchievement(portfolioId, achievement) : 
-                portfolioService.addAchievement(portfolioId, achievement);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addAchievement(portfolioId, achievement, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -254,12 +559,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/experiences")
     public ResponseEntity<Portfolio> addExperience(@PathVariable String portfolioId,
-                                                  @RequestBody Portfolio.Experience experience) {
+                                                  @RequestBody Portfolio.Experience experience,
+                                                  @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addExperience(portfolioId, experience) : 
-                portfolioService.addExperience(portfolioId, experience);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addExperience(portfolioId, experience, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -274,12 +578,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/education")
     public ResponseEntity<Portfolio> addEducation(@PathVariable String portfolioId,
-                                                 @RequestBody Portfolio.Education education) {
+                                                 @RequestBody Portfolio.Education education,
+                                                 @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addEducation(portfolioId, education) : 
-                portfolioService.addEducation(portfolioId, education);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addEducation(portfolioId, education, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -294,12 +597,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/travels")
     public ResponseEntity<Portfolio> addTravel(@PathVariable String portfolioId,
-                                              @RequestBody Portfolio.Travel travel) {
+                                              @RequestBody Portfolio.Travel travel,
+                                              @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addTravel(portfolioId, travel) : 
-                portfolioService.addTravel(portfolioId, travel);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addTravel(portfolioId, travel, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -314,12 +616,11 @@ public class PortfolioController {
      */
     @PostMapping("/{portfolioId}/hackathons")
     public ResponseEntity<Portfolio> addHackathon(@PathVariable String portfolioId,
-                                                 @RequestBody Portfolio.Hackathon hackathon) {
+                                                 @RequestBody Portfolio.Hackathon hackathon,
+                                                 @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
-            Portfolio updatedPortfolio = isHerokuProfile() ? 
-                herokuPortfolioService.addHackathon(portfolioId, hackathon) : 
-                portfolioService.addHackathon(portfolioId, hackathon);
-            return ResponseEntity.ok(updatedPortfolio);
+            Portfolio updatedPortfolio = backend.addHackathon(portfolioId, hackathon, !prefersMinimal(prefer));
+            return updated(updatedPortfolio);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -327,21 +628,138 @@ public class PortfolioController {
         }
     }
     
+    /**
+     * Ranked full-text search across projects, skills, achievements, experiences and hackathons
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchHit>> search(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<SearchHit> hits = backend.search(q, limit);
+            return ResponseEntity.ok(hits);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Autocomplete for technologies, skills, companies and institutions
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String field,
+                                                    @RequestParam(defaultValue = "") String prefix,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        Optional<SuggestionField> suggestionField = SuggestionField.fromParameter(field);
+        if (suggestionField.isEmpty() || limit < 1 || limit > suggestionIndex.getTopK()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<Suggestion> suggestions = backend.suggest(suggestionField.get(), prefix, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Value counts for the listing filters, for one portfolio or across all
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Map<String, Long>>> getFacets(@RequestParam(required = false) String portfolioId) {
+        try {
+            Map<String, Map<String, Long>> facets = backend.getFacets(portfolioId);
+            return ResponseEntity.ok(facets);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    // Section read endpoints
+    
+    /**
+     * Get a window of one embedded section (projects, skills, ...), filtered by e.g. ?category= for projects
+     */
+    @GetMapping("/{portfolioId}/{section}")
+    public ResponseEntity<SectionPage> getSection(@PathVariable String portfolioId,
+                                                  @PathVariable String section,
+                                                  @RequestParam(required = false) String after,
+                                                  @RequestParam(defaultValue = "0") int offset,
+                                                  @RequestParam(defaultValue = "20") int limit,
+                                                  @RequestParam Map<String, String> query) {
+        Optional<PortfolioSection> portfolioSection = PortfolioSection.fromPath(section);
+        if (portfolioSection.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            String filterValue = query.get(portfolioSection.get().getFilterField());
+            Optional<SectionPage> page = backend.getSection(portfolioId, portfolioSection.get(), filterValue, after, offset, limit);
+            return page.map(ResponseEntity::ok)
+                      .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Projects that use a skill
+     */
+    @GetMapping("/{portfolioId}/skills/{skillId}/projects")
+    public ResponseEntity<List<Portfolio.Project>> getProjectsOfSkill(@PathVariable String portfolioId,
+                                                                      @PathVariable String skillId) {
+        try {
+            Optional<List<Portfolio.Project>> projects = backend.getProjectsOfSkill(portfolioId, skillId);
+            return projects.map(ResponseEntity::ok)
+                          .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Skills used by a project
+     */
+    @GetMapping("/{portfolioId}/projects/{projectId}/skills")
+    public ResponseEntity<List<Portfolio.Skill>> getSkillsOfProject(@PathVariable String portfolioId,
+                                                                    @PathVariable String projectId) {
+        try {
+            Optional<List<Portfolio.Skill>> skills = backend.getSkillsOfProject(portfolioId, projectId);
+            return skills.map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Check if portfolio exists by email
      */
     @GetMapping("/exists/{email}")
     public ResponseEntity<Boolean> existsByEmail(@PathVariable String email) {
         try {
-            boolean exists = isHerokuProfile() ? 
-                herokuPortfolioService.existsByEmail(email) : 
-                portfolioService.existsByEmail(email);
+            boolean exists = backend.existsByEmail(email);
             return ResponseEntity.ok(exists);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Snapshot cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        if (snapshotCache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(snapshotCache.stats());
+    }
+    
     /**
      * Health check endpoint
      */
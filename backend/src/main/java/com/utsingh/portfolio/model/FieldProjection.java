@@ -0,0 +1,142 @@
+package com.utsingh.portfolio.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Validated sparse fieldset parsed from a {@code ?fields=} parameter, e.g. {@code personalInfo,projects.title}.
+ * Paths are checked against the {@link Portfolio} model; {@code additionalData} accepts any sub-key.
+ */
+public final class FieldProjection {
+
+    private static final int MAX_LENGTH = 1024;
+    private static final int MAX_PATHS = 64;
+    private static final String FREE_FORM_FIELD = "additionalData";
+    private static final Set<String> KNOWN_PATHS = Collections.unmodifiableSet(collectPaths(Portfolio.class, ""));
+
+    private final Set<String> paths;
+
+    private FieldProjection(Set<String> paths) {
+        this.paths = Collections.unmodifiableSet(paths);
+    }
+
+    /**
+     * Parse and validate a comma separated list of paths
+     *
+     * @throws IllegalArgumentException for unknown paths or oversized input
+     */
+    public static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new IllegalArgumentException("fields must not be empty");
+        }
+        if (fields.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("fields must be at most " + MAX_LENGTH + " characters");
+        }
+        String[] requested = fields.split(",");
+        if (requested.length > MAX_PATHS) {
+            throw new IllegalArgumentException("At most " + MAX_PATHS + " fields can be requested");
+        }
+        Set<String> paths = new TreeSet<>();
+        for (String path : requested) {
+            String trimmed = path.trim();
+            if (!isKnown(trimmed)) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed);
+            }
+            paths.add(trimmed);
+        }
+        // Including a parent already includes its children; MongoDB rejects the overlap as a path collision
+        paths.removeIf(candidate -> paths.stream().anyMatch(other -> candidate.startsWith(other + ".")));
+        return new FieldProjection(paths);
+    }
+
+    public Set<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Paths as stored in MongoDB, where {@code id} properties are persisted as {@code _id}
+     */
+    public Set<String> getStoredPaths() {
+        return paths.stream().map(FieldProjection::toStoredPath).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Prune an already materialized document to the requested paths, for backends without projection support
+     */
+    public Map<String, Object> applyTo(Map<String, Object> document) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (document.containsKey("id")) {
+            result.put("id", document.get("id"));
+        }
+        for (String path : paths) {
+            copyPath(document, result, path.split("\\."), 0);
+        }
+        return result;
+    }
+
+    private static boolean isKnown(String path) {
+        return KNOWN_PATHS.contains(path) || path.startsWith(FREE_FORM_FIELD + ".") && path.length() > FREE_FORM_FIELD.length() + 1;
+    }
+
+    private static String toStoredPath(String path) {
+        if (path.startsWith(FREE_FORM_FIELD + ".")) {
+            return path;
+        }
+        return List.of(path.split("\\.")).stream()
+                .map(segment -> segment.equals("id") ? "_id" : segment)
+                .collect(Collectors.joining("."));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void copyPath(Map<String, Object> source, Map<String, Object> target, String[] segments, int depth) {
+        String key = segments[depth];
+        if (!source.containsKey(key)) {
+            return;
+        }
+        Object value = source.get(key);
+        if (depth == segments.length - 1 || value == null) {
+            target.put(key, value);
+        } else if (value instanceof Map<?, ?> nested) {
+            Map<String, Object> child = (Map<String, Object>) target.computeIfAbsent(key, k -> new LinkedHashMap<>());
+            copyPath((Map<String, Object>) nested, child, segments, depth + 1);
+        } else if (value instanceof List<?> elements) {
+            List<Object> children = (List<Object>) target.computeIfAbsent(key, k -> elements.stream()
+                    .map(element -> element instanceof Map ? new LinkedHashMap<String, Object>() : element)
+                    .collect(Collectors.toList()));
+            for (int i = 0; i < elements.size(); i++) {
+                if (elements.get(i) instanceof Map<?, ?> element) {
+                    copyPath((Map<String, Object>) element, (Map<String, Object>) children.get(i), segments, depth + 1);
+                }
+            }
+        }
+    }
+
+    private static Set<String> collectPaths(Class<?> type, String prefix) {
+        Set<String> paths = new HashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            String path = prefix + field.getName();
+            paths.add(path);
+            Class<?> nested = field.getType();
+            if (List.class.isAssignableFrom(nested) && field.getGenericType() instanceof ParameterizedType listType
+                    && listType.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+                nested = elementType;
+            }
+            if (nested.getDeclaringClass() == Portfolio.class) {
+                paths.addAll(collectPaths(nested, path + "."));
+            }
+        }
+        return paths;
+    }
+}
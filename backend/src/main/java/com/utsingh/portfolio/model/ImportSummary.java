@@ -0,0 +1,40 @@
+package com.utsingh.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportSummary {
+    private int received;
+    private int inserted;
+    private int failed;
+    // False when the payload itself was malformed and parsing stopped early
+    private boolean complete = true;
+    private String error;
+    private List<Result> results = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index;
+        private String id;
+        private String status; // inserted, failed
+        private String error;
+    }
+    
+    public void inserted(int index, String id) {
+        inserted++;
+        results.add(new Result(index, id, "inserted", null));
+    }
+    
+    public void failed(int index, String id, String error) {
+        failed++;
+        results.add(new Result(index, id, "failed", error));
+    }
+}
@@ -1,13 +1,17 @@
 package com.utsingh.portfolio.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 @Data
 @NoArgsConstructor
@@ -18,6 +22,9 @@ public class Portfolio {
     @Id
     private String id;
     
+    @Version
+    private Long version;
+    
     private PersonalInfo personalInfo;
     private List<Project> projects;
     private List<Skill> skills;
@@ -27,6 +34,16 @@ public class Portfolio {
     private List<Travel> travels;
     private List<Hackathon> hackathons;
     private Map<String, Object> additionalData;
+
+    /**
+     * Deep copy, so a shared instance can be handed out without exposing it to changes
+     */
+    public Portfolio copy() {
+        return new Portfolio(id, version, personalInfo != null ? personalInfo.copy() : null,
+                copyEach(projects, Project::copy), copyEach(skills, Skill::copy), copyEach(achievements, Achievement::copy),
+                copyEach(experiences, Experience::copy), copyEach(education, Education::copy),
+                copyEach(travels, Travel::copy), copyEach(hackathons, Hackathon::copy), copyValue(additionalData));
+    }
     
     @Data
     @NoArgsConstructor
@@ -41,6 +58,10 @@ public class Portfolio {
         private String profileImage;
         private List<String> socialLinks;
         private String resume;
+
+        public PersonalInfo copy() {
+            return new PersonalInfo(name, title, email, phone, location, bio, profileImage, copyOf(socialLinks), resume);
+        }
     }
     
     @Data
@@ -59,6 +80,11 @@ public class Portfolio {
         private String startDate;
         private String endDate;
         private List<String> features;
+
+        public Project copy() {
+            return new Project(id, title, description, copyOf(technologies), githubUrl, liveUrl, imageUrl, category,
+                    status, startDate, endDate, copyOf(features));
+        }
     }
     
     @Data
@@ -72,6 +98,10 @@ public class Portfolio {
         private String icon;
         private String description;
         private List<String> projects; // Project IDs where this skill was used
+
+        public Skill copy() {
+            return new Skill(id, name, category, proficiency, icon, description, copyOf(projects));
+        }
     }
     
     @Data
@@ -87,6 +117,10 @@ public class Portfolio {
         private String imageUrl;
         private String category;
         private List<String> skills;
+
+        public Achievement copy() {
+            return new Achievement(id, title, description, date, organization, certificateUrl, imageUrl, category, copyOf(skills));
+        }
     }
     
     @Data
@@ -103,6 +137,11 @@ public class Portfolio {
         private List<String> responsibilities;
         private List<String> technologies;
         private String companyLogo;
+
+        public Experience copy() {
+            return new Experience(id, company, position, description, startDate, endDate, location,
+                    copyOf(responsibilities), copyOf(technologies), companyLogo);
+        }
     }
     
     @Data
@@ -119,6 +158,10 @@ public class Portfolio {
         private String description;
         private List<String> courses;
         private String logo;
+
+        public Education copy() {
+            return new Education(id, institution, degree, field, startDate, endDate, grade, description, copyOf(courses), logo);
+        }
     }
     
     @Data
@@ -133,6 +176,10 @@ public class Portfolio {
         private List<String> images;
         private List<String> highlights;
         private String duration;
+
+        public Travel copy() {
+            return new Travel(id, destination, country, description, date, copyOf(images), copyOf(highlights), duration);
+        }
     }
     
     @Data
@@ -151,5 +198,41 @@ public class Portfolio {
         private String githubUrl;
         private String presentationUrl;
         private List<String> teamMembers;
+
+        public Hackathon copy() {
+            return new Hackathon(id, name, description, date, location, result, projectTitle, projectDescription,
+                    copyOf(technologies), githubUrl, presentationUrl, copyOf(teamMembers));
+        }
+    }
+
+    private static <T> List<T> copyEach(List<T> items, UnaryOperator<T> copy) {
+        if (items == null) {
+            return null;
+        }
+        List<T> copies = new ArrayList<>(items.size());
+        items.forEach(item -> copies.add(item != null ? copy.apply(item) : null));
+        return copies;
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+
+    /**
+     * Free-form values decoded from JSON or BSON: nested maps and lists are copied, leaves are immutable
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T copyValue(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, nested) -> copy.put(String.valueOf(key), copyValue(nested)));
+            return (T) copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(nested -> copy.add(copyValue(nested)));
+            return (T) copy;
+        }
+        return value;
     }
 }
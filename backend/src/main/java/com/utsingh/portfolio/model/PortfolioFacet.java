@@ -0,0 +1,43 @@
+package com.utsingh.portfolio.model;
+
+/**
+ * Fields the listing sidebar shows counts for. Each path starts at an embedded array of {@link Portfolio};
+ * {@code multiValued} marks a leaf that is itself a list of values.
+ */
+public enum PortfolioFacet {
+    PROJECT_CATEGORY("projects", "category", false),
+    PROJECT_STATUS("projects", "status", false),
+    PROJECT_TECHNOLOGIES("projects", "technologies", true),
+    SKILL_CATEGORY("skills", "category", false),
+    ACHIEVEMENT_CATEGORY("achievements", "category", false),
+    TRAVEL_COUNTRY("travels", "country", false);
+    
+    private final String section;
+    private final String field;
+    private final boolean multiValued;
+    
+    PortfolioFacet(String section, String field, boolean multiValued) {
+        this.section = section;
+        this.field = field;
+        this.multiValued = multiValued;
+    }
+    
+    /**
+     * Dotted path, also used as the facet's name in responses
+     */
+    public String getPath() {
+        return section + "." + field;
+    }
+    
+    public String getSection() {
+        return section;
+    }
+    
+    public String getField() {
+        return field;
+    }
+    
+    public boolean isMultiValued() {
+        return multiValued;
+    }
+}
@@ -0,0 +1,18 @@
+package com.utsingh.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of portfolios; {@code nextCursor} is passed back as {@code after} and is null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioPage {
+    private List<Portfolio> items;
+    private String nextCursor;
+}
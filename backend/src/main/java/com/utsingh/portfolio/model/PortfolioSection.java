@@ -0,0 +1,64 @@
+package com.utsingh.portfolio.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Embedded arrays of a {@link Portfolio} whose items carry their own {@code id}
+ */
+public enum PortfolioSection {
+    PROJECTS("projects", "category", Portfolio.Project.class, Portfolio::getProjects),
+    SKILLS("skills", "name", Portfolio.Skill.class, Portfolio::getSkills),
+    ACHIEVEMENTS("achievements", "category", Portfolio.Achievement.class, Portfolio::getAchievements),
+    EXPERIENCES("experiences", "company", Portfolio.Experience.class, Portfolio::getExperiences),
+    EDUCATION("education", "institution", Portfolio.Education.class, Portfolio::getEducation),
+    TRAVELS("travels", "destination", Portfolio.Travel.class, Portfolio::getTravels),
+    HACKATHONS("hackathons", "name", Portfolio.Hackathon.class, Portfolio::getHackathons);
+    
+    private final String field;
+    private final String filterField;
+    private final Class<?> itemType;
+    private final Function<Portfolio, List<?>> accessor;
+    
+    PortfolioSection(String field, String filterField, Class<?> itemType, Function<Portfolio, List<?>> accessor) {
+        this.field = field;
+        this.filterField = filterField;
+        this.itemType = itemType;
+        this.accessor = accessor;
+    }
+    
+    /**
+     * Section for a URL path segment, which matches the property name
+     */
+    public static Optional<PortfolioSection> fromPath(String path) {
+        return Arrays.stream(values()).filter(section -> section.field.equals(path)).findFirst();
+    }
+    
+    /**
+     * Property name of the array on {@link Portfolio}
+     */
+    public String getField() {
+        return field;
+    }
+    
+    /**
+     * Item property the section can be filtered on, matching the {@code PortfolioRepository} finders
+     */
+    public String getFilterField() {
+        return filterField;
+    }
+    
+    public Class<?> getItemType() {
+        return itemType;
+    }
+    
+    /**
+     * Items of this section in the given portfolio, never null
+     */
+    public List<?> itemsOf(Portfolio portfolio) {
+        List<?> items = accessor.apply(portfolio);
+        return items != null ? items : List.of();
+    }
+}
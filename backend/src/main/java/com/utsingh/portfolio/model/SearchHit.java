@@ -0,0 +1,16 @@
+package com.utsingh.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private String portfolioId;
+    private String section;
+    private String itemId;
+    private String title;
+    private double score;
+}
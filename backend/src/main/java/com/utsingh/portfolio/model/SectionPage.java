@@ -0,0 +1,19 @@
+package com.utsingh.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Window of one embedded portfolio section; {@code total} counts the items matching the filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionPage {
+    private List<Object> items;
+    private int total;
+    private String nextCursor;
+}
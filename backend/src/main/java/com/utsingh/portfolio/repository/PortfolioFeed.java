@@ -0,0 +1,28 @@
+package com.utsingh.portfolio.repository;
+
+import com.utsingh.portfolio.model.Portfolio;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Whole-collection reads behind the in-memory structures rebuilt in the background (the email filter and the
+ * derived indexes), served by the MongoDB driver of the active stack. Only ever called from background threads.
+ */
+public interface PortfolioFeed {
+
+    long count();
+
+    Optional<Portfolio> findById(String id);
+
+    /**
+     * Every stored personalInfo.email; the caller must close the stream
+     */
+    Stream<String> streamEmails();
+
+    /**
+     * Portfolios matching the criteria (null for all) in _id order, starting after the given id; the caller must close the stream
+     */
+    Stream<Portfolio> streamPortfolios(Criteria criteria, String after, int batchSize);
+}
@@ -0,0 +1,49 @@
+package com.utsingh.portfolio.repository;
+
+import lombok.Value;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.util.List;
+
+/**
+ * Indexes backing every {@link PortfolioRepository} finder. Fields inside the embedded arrays
+ * become multikey indexes; {@code personalInfo.email} is unique and sparse so documents without one are allowed.
+ */
+public final class PortfolioIndexCatalog {
+
+    @Value
+    public static class IndexSpec {
+        String name;
+        String field;
+        boolean unique;
+
+        public IndexDefinition toDefinition() {
+            Index index = new Index(field, Sort.Direction.ASC).named(name);
+            return unique ? index.unique().sparse() : index;
+        }
+
+        /**
+         * Equality filter shaped like the finder this index serves, used to explain the query plan
+         */
+        public Document probeFilter() {
+            return new Document(field, "");
+        }
+    }
+
+    public static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec("personalInfo_name", "personalInfo.name", false),
+            new IndexSpec("personalInfo_email_unique", "personalInfo.email", true),
+            new IndexSpec("projects_category", "projects.category", false),
+            new IndexSpec("skills_name", "skills.name", false),
+            new IndexSpec("achievements_category", "achievements.category", false),
+            new IndexSpec("experiences_company", "experiences.company", false),
+            new IndexSpec("education_institution", "education.institution", false),
+            new IndexSpec("travels_destination", "travels.destination", false),
+            new IndexSpec("hackathons_name", "hackathons.name", false));
+
+    private PortfolioIndexCatalog() {
+    }
+}
@@ -0,0 +1,128 @@
+package com.utsingh.portfolio.repository;
+
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.repository.PortfolioIndexCatalog.IndexSpec;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates any missing catalog index once the application is up, then logs a report of each index
+ * and the plan MongoDB picks for its finder. Runs off the startup thread so a slow build never delays serving.
+ */
+@Component
+@Profile("!heroku & !reactive")
+public class PortfolioIndexVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioIndexVerifier.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean explain;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "portfolio-indexes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PortfolioIndexVerifier(MongoTemplate mongoTemplate,
+                                  @Value("${portfolio.indexes.explain:true}") boolean explain) {
+        this.mongoTemplate = mongoTemplate;
+        this.explain = explain;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        worker.execute(this::ensureAndVerify);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    void ensureAndVerify() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(Portfolio.class);
+            Map<String, IndexInfo> existing = existingIndexes(indexOps);
+            List<String> report = new ArrayList<>();
+            for (IndexSpec spec : PortfolioIndexCatalog.INDEXES) {
+                report.add(spec.getName() + " [" + spec.getField() + "]: " + ensure(indexOps, existing, spec)
+                        + (explain ? ", plan " + winningStage(spec) : ""));
+            }
+            log.info("Portfolio index report:\n  {}", String.join("\n  ", report));
+        } catch (RuntimeException e) {
+            log.warn("Portfolio index verification failed", e);
+        }
+    }
+
+    private Map<String, IndexInfo> existingIndexes(IndexOperations indexOps) {
+        return indexOps.getIndexInfo().stream().collect(Collectors.toMap(IndexInfo::getName, Function.identity()));
+    }
+
+    private String ensure(IndexOperations indexOps, Map<String, IndexInfo> existing, IndexSpec spec) {
+        Optional<IndexInfo> byKey = existing.values().stream().filter(info -> covers(info, spec)).findFirst();
+        if (byKey.isPresent()) {
+            IndexInfo info = byKey.get();
+            if (spec.isUnique() && !info.isUnique()) {
+                return "MISMATCH (existing index " + info.getName() + " is not unique)";
+            }
+            return "present" + (info.getName().equals(spec.getName()) ? "" : " as " + info.getName());
+        }
+        try {
+            indexOps.createIndex(spec.toDefinition());
+            return "created";
+        } catch (RuntimeException e) {
+            // e.g. duplicate emails preventing the unique index
+            return "FAILED (" + e.getMessage() + ")";
+        }
+    }
+
+    private static boolean covers(IndexInfo info, IndexSpec spec) {
+        List<IndexField> fields = info.getIndexFields();
+        return fields.size() == 1 && fields.get(0).getKey().equals(spec.getField());
+    }
+
+    /**
+     * Stage of the winning plan that reads the collection, e.g. IXSCAN or COLLSCAN
+     */
+    private String winningStage(IndexSpec spec) {
+        try {
+            Document command = new Document("explain", new Document("find", mongoTemplate.getCollectionName(Portfolio.class))
+                    .append("filter", spec.probeFilter()))
+                    .append("verbosity", "queryPlanner");
+            Document result = mongoTemplate.getDb().runCommand(command);
+            Document winningPlan = result.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            return leafStage(winningPlan);
+        } catch (RuntimeException e) {
+            return "unavailable (" + e.getMessage() + ")";
+        }
+    }
+
+    private static String leafStage(Document plan) {
+        // Newer servers wrap the classic plan in queryPlan
+        Document current = plan.containsKey("queryPlan") ? plan.get("queryPlan", Document.class) : plan;
+        while (current.containsKey("inputStage")) {
+            current = current.get("inputStage", Document.class);
+        }
+        return current.getString("stage");
+    }
+}
@@ -1,6 +1,7 @@
 package com.utsingh.portfolio.repository;
 
 import com.utsingh.portfolio.model.Portfolio;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,7 +10,10 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PortfolioRepository extends MongoRepository<Portfolio, String> {
+public interface PortfolioRepository extends MongoRepository<Portfolio, String>, PortfolioRepositoryCustom, PortfolioFeed {
+    
+    @Override
+    Optional<Portfolio> findById(String id);
     
     /**
      * Find portfolio by personal info name
@@ -18,50 +22,51 @@ public interface PortfolioRepository extends MongoRepository<Portfolio, String>
     Optional<Portfolio> findByPersonalInfoName(String name);
     
     /**
-     * Find portfolios by project category
-     */
-    @Query("{'projects.category': ?0}")
-    List<Portfolio> findByProjectCategory(String category);
-    
-    /**
-     * Find portfolios by skill name
+     * Keyset page of portfolios with a project in the category, in _id order after the given id
      */
-    @Query("{'skills.name': ?0}")
-    List<Portfolio> findBySkillName(String skillName);
+    default List<Portfolio> findByProjectCategory(String category, String after, int limit) {
+        return findPage(Criteria.where("projects.category").is(category), after, limit);
+    }
     
     /**
-     * Find portfolios by achievement category
+     * Keyset page of portfolios with the skill, in _id order after the given id
      */
-    @Query("{'achievements.category': ?0}")
-    List<Portfolio> findByAchievementCategory(String category);
+    default List<Portfolio> findBySkillName(String skillName, String after, int limit) {
+        return findPage(Criteria.where("skills.name").is(skillName), after, limit);
+    }
     
     /**
-     * Find portfolios by experience company
+     * Keyset page of portfolios with an achievement in the category, in _id order after the given id
      */
-    @Query("{'experiences.company': ?0}")
-    List<Portfolio> findByExperienceCompany(String company);
+    default List<Portfolio> findByAchievementCategory(String category, String after, int limit) {
+        return findPage(Criteria.where("achievements.category").is(category), after, limit);
+    }
     
     /**
-     * Find portfolios by education institution
+     * Keyset page of portfolios with experience at the company, in _id order after the given id
      */
-    @Query("{'education.institution': ?0}")
-    List<Portfolio> findByEducationInstitution(String institution);
+    default List<Portfolio> findByExperienceCompany(String company, String after, int limit) {
+        return findPage(Criteria.where("experiences.company").is(company), after, limit);
+    }
     
     /**
-     * Find portfolios by travel destination
+     * Keyset page of portfolios educated at the institution, in _id order after the given id
      */
-    @Query("{'travels.destination': ?0}")
-    List<Portfolio> findByTravelDestination(String destination);
+    default List<Portfolio> findByEducationInstitution(String institution, String after, int limit) {
+        return findPage(Criteria.where("education.institution").is(institution), after, limit);
+    }
     
     /**
-     * Find portfolios by hackathon name
+     * Keyset page of portfolios that travelled to the destination, in _id order after the given id
      */
-    @Query("{'hackathons.name': ?0}")
-    List<Portfolio> findByHackathonName(String hackathonName);
+    default List<Portfolio> findByTravelDestination(String destination, String after, int limit) {
+        return findPage(Criteria.where("travels.destination").is(destination), after, limit);
+    }
     
     /**
-     * Check if portfolio exists by personal info email
+     * Keyset page of portfolios that took part in the hackathon, in _id order after the given id
      */
-    @Query("{'personalInfo.email': ?0}")
-    boolean existsByPersonalInfoEmail(String email);
+    default List<Portfolio> findByHackathonName(String hackathonName, String after, int limit) {
+        return findPage(Criteria.where("hackathons.name").is(hackathonName), after, limit);
+    }
 }
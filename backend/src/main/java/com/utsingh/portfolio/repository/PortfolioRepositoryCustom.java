@@ -0,0 +1,108 @@
+package com.utsingh.portfolio.repository;
+
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioFacet;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SectionPage;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Queries that need {@link org.springframework.data.mongodb.core.MongoTemplate} rather than derived or annotated finders
+ */
+public interface PortfolioRepositoryCustom {
+    
+    /**
+     * Find portfolio by ID, returning only the projected fields as a raw document
+     */
+    Optional<Map<String, Object>> findProjectedById(String id, FieldProjection projection);
+    
+    /**
+     * Find portfolio by personal info name, returning only the projected fields as a raw document
+     */
+    Optional<Map<String, Object>> findProjectedByName(String name, FieldProjection projection);
+    
+    /**
+     * Find all portfolios, returning only the projected fields as raw documents
+     */
+    List<Map<String, Object>> findAllProjected(FieldProjection projection);
+    
+    /**
+     * Apply an atomic update to the portfolio matching the query, reporting whether one matched
+     */
+    boolean updatePortfolio(Query query, Update update);
+    
+    /**
+     * Apply an atomic update and return the matching portfolio as it is after the update
+     */
+    Optional<Portfolio> updateAndGetPortfolio(Query query, Update update);
+    
+    /**
+     * Current version of the portfolio; documents written before versioning are initialized to 0
+     */
+    Optional<Long> findVersionById(String id);
+    
+    /**
+     * Delete the portfolio only if it is still at the given version
+     */
+    boolean deleteByIdAndVersion(String id, long version);
+    
+    /**
+     * Keyset page of portfolios matching the criteria (null for all) in _id order, starting after the given id
+     */
+    List<Portfolio> findPage(Criteria criteria, String after, int limit);
+    
+    /**
+     * Stream portfolios matching the criteria (null for all) in _id order from a server-side cursor; the caller must close it
+     */
+    Stream<Portfolio> streamPortfolios(Criteria criteria, String after, int batchSize);
+    
+    /**
+     * Window of one embedded section, sliced (and optionally filtered) inside MongoDB so only that window is transferred.
+     * The window starts after the item with id {@code after} when given, otherwise at {@code offset}.
+     */
+    Optional<SectionPage> findSectionPage(String portfolioId, PortfolioSection section, String filterValue,
+                                          String after, int offset, int limit);
+    
+    /**
+     * Index-covered existence probe: reads at most one index key and no documents
+     */
+    boolean existsByPersonalInfoEmail(String email);
+    
+    /**
+     * Every stored personalInfo.email, read from the email index without fetching documents
+     */
+    Stream<String> streamEmails();
+    
+    /**
+     * Value counts for every {@link PortfolioFacet}, most frequent first, computed in one aggregation.
+     * Counts a single portfolio when {@code portfolioId} is given, otherwise all of them.
+     */
+    Map<String, Map<String, Long>> countFacets(String portfolioId);
+    
+    /**
+     * Insert a batch in one unordered bulk write; documents that fail do not stop the others.
+     *
+     * @return error message by position in {@code portfolios} for each document that was not inserted
+     */
+    Map<Integer, String> insertAll(List<Portfolio> portfolios);
+    
+    /**
+     * Insert the portfolio in one upsert unless a portfolio with the same personalInfo.email is already stored
+     *
+     * @return id of the inserted portfolio, or empty when one already existed
+     */
+    Optional<String> insertIfAbsentByEmail(Portfolio portfolio);
+    
+    /**
+     * Raw documents in API shape and _id order, straight from a cursor without entity mapping
+     */
+    Stream<Map<String, Object>> streamRawPortfolios(String after, int batchSize);
+}
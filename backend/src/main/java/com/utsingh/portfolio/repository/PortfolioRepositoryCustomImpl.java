@@ -0,0 +1,322 @@
+package com.utsingh.portfolio.repository;
+
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioFacet;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SectionPage;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * MongoTemplate backed implementation of {@link PortfolioRepositoryCustom}, picked up by Spring Data as a repository fragment
+ */
+public class PortfolioRepositoryCustomImpl implements PortfolioRepositoryCustom {
+    
+    private static final String COLLECTION = "portfolio";
+    private static final String FREE_FORM_FIELD = "additionalData";
+    private static final String EMAIL_FIELD = "personalInfo.email";
+    // Projecting only the indexed field (and not _id) lets the email index cover the query
+    private static final Document EMAIL_ONLY = new Document("_id", 0).append(EMAIL_FIELD, 1);
+    private static final int OBJECT_ID_TYPE = 7;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public PortfolioRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(String id, FieldProjection projection) {
+        Query query = projected(Query.query(Criteria.where("_id").is(storedId(id))), projection);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Document.class, COLLECTION)).map(PortfolioRepositoryCustomImpl::toApiShape);
+    }
+    
+    @Override
+    public Optional<Map<String, Object>> findProjectedByName(String name, FieldProjection projection) {
+        Query query = projected(Query.query(Criteria.where("personalInfo.name").is(name)), projection);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Document.class, COLLECTION)).map(PortfolioRepositoryCustomImpl::toApiShape);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findAllProjected(FieldProjection projection) {
+        return mongoTemplate.find(projected(new Query(), projection), Document.class, COLLECTION).stream()
+                .map(PortfolioRepositoryCustomImpl::toApiShape)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public boolean updatePortfolio(Query query, Update update) {
+        return mongoTemplate.updateFirst(query, update, Portfolio.class).getMatchedCount() > 0;
+    }
+    
+    @Override
+    public Optional<Portfolio> updateAndGetPortfolio(Query query, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Portfolio.class));
+    }
+    
+    @Override
+    public Optional<Long> findVersionById(String id) {
+        Query query = Query.query(Criteria.where("_id").is(storedId(id)));
+        query.fields().include("version");
+        Document document = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (document == null) {
+            return Optional.empty();
+        }
+        Number version = document.get("version", Number.class);
+        if (version != null) {
+            return Optional.of(version.longValue());
+        }
+        // is(null) matches both a missing and an explicit null version
+        Query unversioned = Query.query(Criteria.where("_id").is(storedId(id)).and("version").is(null));
+        if (mongoTemplate.updateFirst(unversioned, Update.update("version", 0L), COLLECTION).getModifiedCount() > 0) {
+            return Optional.of(0L);
+        }
+        // Versioned (or deleted) by a concurrent write since the first read
+        Document current = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        return Optional.ofNullable(current).map(stored -> stored.get("version", Number.class)).map(Number::longValue);
+    }
+    
+    @Override
+    public boolean deleteByIdAndVersion(String id, long version) {
+        // A document stored before versioning has no version field and counts as version 0
+        Criteria versioned = Criteria.where("id").is(id).and("version");
+        Query query = Query.query(version == 0 ? versioned.in(0L, null) : versioned.is(version));
+        return mongoTemplate.remove(query, Portfolio.class).getDeletedCount() > 0;
+    }
+    
+    @Override
+    public List<Portfolio> findPage(Criteria criteria, String after, int limit) {
+        return mongoTemplate.find(keyset(criteria, after).limit(limit), Portfolio.class);
+    }
+    
+    @Override
+    public Stream<Portfolio> streamPortfolios(Criteria criteria, String after, int batchSize) {
+        return mongoTemplate.stream(keyset(criteria, after).cursorBatchSize(batchSize), Portfolio.class);
+    }
+    
+    @Override
+    public Optional<SectionPage> findSectionPage(String portfolioId, PortfolioSection section, String filterValue,
+                                                 String after, int offset, int limit) {
+        Object items = new Document("$ifNull", List.of("$" + section.getField(), List.of()));
+        Object matching = filterValue == null ? items : new Document("$filter", new Document("input", items)
+                .append("as", "item")
+                .append("cond", new Document("$eq", List.of("$$item." + section.getFilterField(), filterValue))));
+        // An unknown cursor yields an empty window rather than silently restarting from the beginning
+        Object start = after == null ? offset : new Document("$let", new Document("vars",
+                new Document("index", new Document("$indexOfArray", List.of("$$matching._id", after))))
+                .append("in", new Document("$cond", List.of(
+                        new Document("$lt", List.of("$$index", 0)),
+                        new Document("$size", "$$matching"),
+                        new Document("$add", List.of("$$index", 1))))));
+        Document window = new Document("$let", new Document("vars", new Document("matching", matching))
+                .append("in", new Document("items", new Document("$slice", List.of("$$matching", start, limit)))
+                        .append("start", start)
+                        .append("total", new Document("$size", "$$matching"))));
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("_id", storedId(portfolioId))),
+                new Document("$project", new Document("_id", 0).append("window", window)));
+        
+        Document result = mongoTemplate.getCollection(COLLECTION).aggregate(pipeline).first();
+        if (result == null) {
+            return Optional.empty();
+        }
+        Document slice = result.get("window", Document.class);
+        List<Document> rawItems = slice.getList("items", Document.class);
+        int total = slice.get("total", Number.class).intValue();
+        int first = slice.get("start", Number.class).intValue();
+        List<Object> decoded = new ArrayList<>(rawItems.size());
+        rawItems.forEach(raw -> decoded.add(mongoTemplate.getConverter().read(section.getItemType(), raw)));
+        String nextCursor = !rawItems.isEmpty() && first + rawItems.size() < total
+                ? String.valueOf(rawItems.get(rawItems.size() - 1).get("_id"))
+                : null;
+        return Optional.of(new SectionPage(decoded, total, nextCursor));
+    }
+    
+    @Override
+    public boolean existsByPersonalInfoEmail(String email) {
+        return mongoTemplate.getCollection(COLLECTION)
+                .find(new Document(EMAIL_FIELD, email))
+                .projection(EMAIL_ONLY)
+                .limit(1)
+                .first() != null;
+    }
+    
+    @Override
+    public Stream<String> streamEmails() {
+        // The email index is sparse, so it holds exactly the documents matching $exists and can cover this scan
+        Document filter = new Document(EMAIL_FIELD, new Document("$exists", true));
+        MongoCursor<Document> cursor = mongoTemplate.getCollection(COLLECTION)
+                .find(filter)
+                .projection(EMAIL_ONLY)
+                .batchSize(1000)
+                .iterator();
+        Iterable<Document> documents = () -> cursor;
+        return StreamSupport.stream(documents.spliterator(), false)
+                .map(document -> document.get("personalInfo", Document.class))
+                .map(personalInfo -> personalInfo != null ? personalInfo.get("email") : null)
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .onClose(cursor::close);
+    }
+    
+    @Override
+    public Stream<Map<String, Object>> streamRawPortfolios(String after, int batchSize) {
+        Document filter = after == null ? new Document() : afterId(after).getCriteriaObject();
+        MongoCursor<Document> cursor = mongoTemplate.getCollection(COLLECTION)
+                .find(filter)
+                .sort(new Document("_id", 1))
+                .batchSize(batchSize)
+                .iterator();
+        Iterable<Document> documents = () -> cursor;
+        return StreamSupport.stream(documents.spliterator(), false)
+                .map(PortfolioRepositoryCustomImpl::toApiShape)
+                .onClose(cursor::close);
+    }
+    
+    @Override
+    public Map<String, Map<String, Long>> countFacets(String portfolioId) {
+        Document facets = new Document();
+        for (PortfolioFacet facet : PortfolioFacet.values()) {
+            List<Document> stages = new ArrayList<>();
+            stages.add(new Document("$unwind", "$" + facet.getSection()));
+            if (facet.isMultiValued()) {
+                stages.add(new Document("$unwind", "$" + facet.getPath()));
+            }
+            stages.add(new Document("$group", new Document("_id", "$" + facet.getPath()).append("count", new Document("$sum", 1))));
+            stages.add(new Document("$match", new Document("_id", new Document("$ne", null))));
+            stages.add(new Document("$sort", new Document("count", -1).append("_id", 1)));
+            facets.append(facet.getPath(), stages);
+        }
+        List<Document> pipeline = new ArrayList<>();
+        if (portfolioId != null) {
+            pipeline.add(new Document("$match", new Document("_id", storedId(portfolioId))));
+        }
+        pipeline.add(new Document("$facet", facets));
+        
+        Document result = mongoTemplate.getCollection(COLLECTION).aggregate(pipeline).first();
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (PortfolioFacet facet : PortfolioFacet.values()) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            if (result != null) {
+                for (Document bucket : result.getList(facet.getPath(), Document.class, List.of())) {
+                    values.put(String.valueOf(bucket.get("_id")), bucket.get("count", Number.class).longValue());
+                }
+            }
+            counts.put(facet.getPath(), values);
+        }
+        return counts;
+    }
+    
+    @Override
+    public Map<Integer, String> insertAll(List<Portfolio> portfolios) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        if (portfolios.isEmpty()) {
+            return failures;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Portfolio.class).insert(portfolios).execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+        }
+        return failures;
+    }
+    
+    @Override
+    public Optional<String> insertIfAbsentByEmail(Portfolio portfolio) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(portfolio, document);
+        document.remove("_id");
+        document.put("version", 0L);
+        // $setOnInsert leaves an existing portfolio untouched; written raw so no version increment is added to the update
+        Update update = new Update();
+        document.forEach(update::setOnInsert);
+        Query query = Query.query(Criteria.where(EMAIL_FIELD).is(portfolio.getPersonalInfo().getEmail()));
+        UpdateResult result = mongoTemplate.upsert(query, update, COLLECTION);
+        return Optional.ofNullable(result.getUpsertedId()).map(id -> id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+    }
+    
+    /**
+     * Stable _id ordering makes the last id seen a complete cursor, without skip() rescanning earlier pages
+     */
+    static Query keyset(Criteria criteria, String after) {
+        Query query = (criteria != null ? new Query(criteria) : new Query()).with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (after != null) {
+            query.addCriteria(afterId(after));
+        }
+        return query;
+    }
+    
+    /**
+     * Ids after the cursor in _id order. MongoDB sorts every string _id before every ObjectId, but $gt only compares
+     * values of the same type, so after a string cursor all ObjectIds still follow.
+     */
+    static Criteria afterId(String after) {
+        Object id = storedId(after);
+        if (id instanceof ObjectId) {
+            return Criteria.where("_id").gt(id);
+        }
+        return new Criteria().orOperator(Criteria.where("_id").gt(id), Criteria.where("_id").type(OBJECT_ID_TYPE));
+    }
+    
+    private static Query projected(Query query, FieldProjection projection) {
+        projection.getStoredPaths().forEach(path -> query.fields().include(path));
+        return query;
+    }
+    
+    /**
+     * Ids that look like ObjectIds are stored as ObjectIds by the mapping layer
+     */
+    static Object storedId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+    
+    /**
+     * Rename {@code _id} back to {@code id}, drop the type hint and render ObjectIds as hex, as Jackson would for {@link Portfolio}
+     */
+    static Map<String, Object> toApiShape(Document document) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        document.forEach((key, value) -> {
+            if (key.equals("_class")) {
+                return;
+            }
+            String apiKey = key.equals("_id") ? "id" : key;
+            result.put(apiKey, key.equals(FREE_FORM_FIELD) ? value : toApiValue(value));
+        });
+        return result;
+    }
+    
+    private static Object toApiValue(Object value) {
+        if (value instanceof Document nested) {
+            return toApiShape(nested);
+        }
+        if (value instanceof List<?> elements) {
+            List<Object> converted = new ArrayList<>(elements.size());
+            elements.forEach(element -> converted.add(toApiValue(element)));
+            return converted;
+        }
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+
+/**
+ * In-memory structure derived from stored portfolios and kept current by {@link DerivedIndexMaintainer}.
+ * Calls arrive one at a time, in write order.
+ */
+public interface DerivedIndex {
+
+    /**
+     * Replace everything derived from the portfolio; {@code portfolio} is null once it was deleted
+     */
+    void replace(String portfolioId, Portfolio portfolio);
+}
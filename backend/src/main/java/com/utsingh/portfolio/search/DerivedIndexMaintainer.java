@@ -0,0 +1,93 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.repository.PortfolioFeed;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Feeds every {@link DerivedIndex} from MongoDB: a full load once the application is up, then one update per write.
+ * All work runs on a single background thread, so updates queued behind the initial load are applied after it.
+ */
+@Component
+@Profile("!heroku")
+public class DerivedIndexMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(DerivedIndexMaintainer.class);
+
+    private final PortfolioFeed portfolioFeed;
+    private final List<DerivedIndex> indexes;
+    private final int batchSize;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "derived-indexes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DerivedIndexMaintainer(PortfolioFeed portfolioFeed, List<DerivedIndex> indexes,
+                                  @Value("${portfolio.stream.batch-size:100}") int batchSize) {
+        this.portfolioFeed = portfolioFeed;
+        this.indexes = indexes;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        worker.execute(this::loadAll);
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        String id = event.getPortfolioId();
+        if (event.isDeleted()) {
+            worker.execute(() -> apply(id, null));
+        } else if (event.getPortfolio() != null) {
+            Portfolio portfolio = event.getPortfolio();
+            worker.execute(() -> apply(id, portfolio));
+        } else {
+            // The write did not read the document back; load the stored state once for all indexes
+            worker.execute(() -> apply(id, portfolioFeed.findById(id).orElse(null)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void loadAll() {
+        AtomicLong count = new AtomicLong();
+        try (Stream<Portfolio> portfolios = portfolioFeed.streamPortfolios(null, null, batchSize)) {
+            portfolios.forEach(portfolio -> {
+                apply(portfolio.getId(), portfolio);
+                count.incrementAndGet();
+            });
+            log.debug("Loaded {} portfolios into {} derived indexes", count.get(), indexes.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load derived indexes after {} portfolios", count.get(), e);
+        }
+    }
+
+    private void apply(String portfolioId, Portfolio portfolio) {
+        for (DerivedIndex index : indexes) {
+            try {
+                index.replace(portfolioId, portfolio);
+            } catch (RuntimeException e) {
+                log.warn("Failed to update {} for portfolio {}", index.getClass().getSimpleName(), portfolioId, e);
+            }
+        }
+    }
+}
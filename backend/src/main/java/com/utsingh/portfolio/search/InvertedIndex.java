@@ -0,0 +1,242 @@
+package com.utsingh.portfolio.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incremental inverted index with BM25 ranking. Each document gets an increasing ordinal, so postings stay sorted
+ * as parallel int arrays without per-entry objects. Removed documents are tombstoned and dropped from the postings
+ * once they make up half the index.
+ *
+ * @param <T> value returned for a matching document
+ */
+public final class InvertedIndex<T> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    /**
+     * Text indexed for a document; {@code weight} multiplies its term frequencies, e.g. to boost titles
+     */
+    @Value
+    public static class Field {
+        String text;
+        int weight;
+    }
+
+    @Value
+    public static class Hit<T> {
+        T value;
+        double score;
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int live;
+
+        void append(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+    private final List<String[]> terms = new ArrayList<>();
+    private int[] lengths = new int[16];
+    private final BitSet removed = new BitSet();
+    private long totalLength;
+    private int liveCount;
+
+    /**
+     * Index a document under {@code key}, replacing any document previously stored under it
+     */
+    public void put(String key, T value, List<Field> fields) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        int length = 0;
+        for (Field field : fields) {
+            for (String token : tokenize(field.getText())) {
+                frequencies.merge(token, field.getWeight(), Integer::sum);
+                length += field.getWeight();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            int ordinal = values.size();
+            values.add(value);
+            terms.add(frequencies.keySet().toArray(new String[0]));
+            if (ordinal == lengths.length) {
+                lengths = Arrays.copyOf(lengths, ordinal * 2);
+            }
+            lengths[ordinal] = length;
+            totalLength += length;
+            liveCount++;
+            ordinals.put(key, ordinal);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings()).append(ordinal, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top {@code limit} documents by BM25 score over the query's terms
+     */
+    public List<Hit<T>> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0 || queryTerms.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / liveCount);
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Postings list = postings.get(term);
+                if (list == null || list.live == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveCount - list.live + 0.5) / (list.live + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (removed.get(doc)) {
+                        continue;
+                    }
+                    double tf = list.freqs[i];
+                    double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores.merge(doc, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                top.add(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit<T>> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Integer, Double> entry = top.poll();
+                hits.add(0, new Hit<>(values.get(entry.getKey()), entry.getValue()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased letter/digit runs; {@code +} and {@code #} are kept so terms like c++ and c# survive
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void removeLocked(String key) {
+        Integer ordinal = ordinals.remove(key);
+        if (ordinal == null) {
+            return;
+        }
+        removed.set(ordinal);
+        values.set(ordinal, null);
+        for (String term : terms.get(ordinal)) {
+            postings.get(term).live--;
+        }
+        terms.set(ordinal, null);
+        totalLength -= lengths[ordinal];
+        liveCount--;
+        if (removed.cardinality() > Math.max(16, liveCount)) {
+            compact();
+        }
+    }
+
+    /**
+     * Drop tombstoned documents and renumber the rest; relative order is kept, so postings stay sorted
+     */
+    private void compact() {
+        int[] remap = new int[values.size()];
+        int next = 0;
+        for (int ordinal = 0; ordinal < values.size(); ordinal++) {
+            if (removed.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                values.set(next, values.get(ordinal));
+                terms.set(next, terms.get(ordinal));
+                lengths[next] = lengths[ordinal];
+                remap[ordinal] = next++;
+            }
+        }
+        values.subList(next, values.size()).clear();
+        terms.subList(next, terms.size()).clear();
+        ordinals.replaceAll((key, ordinal) -> remap[ordinal]);
+        removed.clear();
+        postings.values().removeIf(list -> list.live == 0);
+        for (Postings list : postings.values()) {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = remap[list.docs[i]];
+                if (ordinal >= 0) {
+                    list.docs[kept] = ordinal;
+                    list.freqs[kept] = list.freqs[i];
+                    kept++;
+                }
+            }
+            list.size = kept;
+            list.docs = Arrays.copyOf(list.docs, Math.max(4, kept));
+            list.freqs = Arrays.copyOf(list.freqs, Math.max(4, kept));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.search.InvertedIndex.Field;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text index over the searchable text of projects, skills, achievements, experiences and hackathons.
+ * Each section item is one document, so hits point at the matching item rather than the whole portfolio.
+ */
+@Component
+public class PortfolioSearchIndex implements DerivedIndex {
+
+    private static final int TITLE = 3;
+    private static final int TAG = 2;
+    private static final int BODY = 1;
+
+    private final InvertedIndex<SearchHit> index = new InvertedIndex<>();
+    private final Map<String, List<String>> keysByPortfolio = new ConcurrentHashMap<>();
+
+    @Override
+    public void replace(String portfolioId, Portfolio portfolio) {
+        List<String> previous = keysByPortfolio.remove(portfolioId);
+        if (previous != null) {
+            previous.forEach(index::remove);
+        }
+        if (portfolio == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        for (Portfolio.Project project : nonNull(portfolio.getProjects())) {
+            put(keys, portfolioId, PortfolioSection.PROJECTS, project.getId(), project.getTitle(), List.of(
+                    new Field(project.getTitle(), TITLE),
+                    new Field(project.getDescription(), BODY),
+                    new Field(join(project.getTechnologies()), TAG),
+                    new Field(join(project.getFeatures()), BODY)));
+        }
+        for (Portfolio.Skill skill : nonNull(portfolio.getSkills())) {
+            put(keys, portfolioId, PortfolioSection.SKILLS, skill.getId(), skill.getName(), List.of(
+                    new Field(skill.getName(), TITLE),
+                    new Field(skill.getDescription(), BODY)));
+        }
+        for (Portfolio.Achievement achievement : nonNull(portfolio.getAchievements())) {
+            put(keys, portfolioId, PortfolioSection.ACHIEVEMENTS, achievement.getId(), achievement.getTitle(), List.of(
+                    new Field(achievement.getTitle(), TITLE),
+                    new Field(achievement.getDescription(), BODY)));
+        }
+        for (Portfolio.Experience experience : nonNull(portfolio.getExperiences())) {
+            put(keys, portfolioId, PortfolioSection.EXPERIENCES, experience.getId(), experience.getPosition(), List.of(
+                    new Field(join(experience.getResponsibilities()), BODY)));
+        }
+        for (Portfolio.Hackathon hackathon : nonNull(portfolio.getHackathons())) {
+            put(keys, portfolioId, PortfolioSection.HACKATHONS, hackathon.getId(), hackathon.getProjectTitle(), List.of(
+                    new Field(hackathon.getProjectDescription(), BODY)));
+        }
+        keysByPortfolio.put(portfolioId, keys);
+    }
+
+    /**
+     * Best matching section items for a free-text query
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return index.search(query, limit).stream()
+                .map(hit -> {
+                    SearchHit stored = hit.getValue();
+                    return new SearchHit(stored.getPortfolioId(), stored.getSection(), stored.getItemId(),
+                            stored.getTitle(), hit.getScore());
+                })
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void put(List<String> keys, String portfolioId, PortfolioSection section, String itemId, String title,
+                     List<Field> fields) {
+        String key = portfolioId + "/" + section.getField() + "/" + (itemId != null ? itemId : "#" + keys.size());
+        index.put(key, new SearchHit(portfolioId, section.getField(), itemId, title, 0), fields);
+        keys.add(key);
+    }
+
+    private static String join(List<String> values) {
+        return values == null ? null : String.join(" ", values);
+    }
+
+    private static <T> List<T> nonNull(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+}
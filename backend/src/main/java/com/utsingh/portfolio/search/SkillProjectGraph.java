@@ -0,0 +1,159 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Skill to project links per portfolio, resolved once per stored version instead of on every render.
+ * A skill uses a project when the project id is listed in {@code Skill.projects} or the skill name appears in
+ * {@code Project.technologies} (case-insensitive). Both directions are stored as compressed adjacency arrays
+ * over dense ordinals, and each portfolio's graph is immutable, so lookups need no locking.
+ */
+@Component
+public class SkillProjectGraph implements DerivedIndex {
+
+    private static final class Adjacency {
+        final Portfolio.Skill[] skills;
+        final Portfolio.Project[] projects;
+        final Map<String, Integer> skillOrdinals;
+        final Map<String, Integer> projectOrdinals;
+        // Neighbours of node i are edges[offsets[i]] .. edges[offsets[i + 1] - 1]
+        final int[] skillOffsets;
+        final int[] skillEdges;
+        final int[] projectOffsets;
+        final int[] projectEdges;
+
+        Adjacency(Portfolio portfolio) {
+            skills = nonNull(portfolio.getSkills()).toArray(new Portfolio.Skill[0]);
+            projects = nonNull(portfolio.getProjects()).toArray(new Portfolio.Project[0]);
+            skillOrdinals = ordinals(skills.length, i -> skills[i].getId());
+            projectOrdinals = ordinals(projects.length, i -> projects[i].getId());
+
+            Map<String, BitSet> projectsByTechnology = new HashMap<>();
+            for (int p = 0; p < projects.length; p++) {
+                for (String technology : nonNull(projects[p].getTechnologies())) {
+                    if (technology != null) {
+                        projectsByTechnology.computeIfAbsent(normalize(technology), key -> new BitSet()).set(p);
+                    }
+                }
+            }
+            BitSet[] projectsOfSkill = new BitSet[skills.length];
+            BitSet[] skillsOfProject = new BitSet[projects.length];
+            for (int p = 0; p < projects.length; p++) {
+                skillsOfProject[p] = new BitSet(skills.length);
+            }
+            for (int s = 0; s < skills.length; s++) {
+                BitSet linked = new BitSet(projects.length);
+                for (String projectId : nonNull(skills[s].getProjects())) {
+                    Integer p = projectOrdinals.get(projectId);
+                    if (p != null) {
+                        linked.set(p);
+                    }
+                }
+                if (skills[s].getName() != null) {
+                    BitSet byTechnology = projectsByTechnology.get(normalize(skills[s].getName()));
+                    if (byTechnology != null) {
+                        linked.or(byTechnology);
+                    }
+                }
+                projectsOfSkill[s] = linked;
+                for (int p = linked.nextSetBit(0); p >= 0; p = linked.nextSetBit(p + 1)) {
+                    skillsOfProject[p].set(s);
+                }
+            }
+            skillOffsets = new int[skills.length + 1];
+            skillEdges = compress(projectsOfSkill, skillOffsets);
+            projectOffsets = new int[projects.length + 1];
+            projectEdges = compress(skillsOfProject, projectOffsets);
+        }
+
+        private static int[] compress(BitSet[] rows, int[] offsets) {
+            int total = 0;
+            for (int i = 0; i < rows.length; i++) {
+                offsets[i] = total;
+                total += rows[i].cardinality();
+            }
+            offsets[rows.length] = total;
+            int[] edges = new int[total];
+            for (int i = 0; i < rows.length; i++) {
+                int at = offsets[i];
+                for (int j = rows[i].nextSetBit(0); j >= 0; j = rows[i].nextSetBit(j + 1)) {
+                    edges[at++] = j;
+                }
+            }
+            return edges;
+        }
+
+        private static Map<String, Integer> ordinals(int count, IntFunction<String> idOf) {
+            Map<String, Integer> ordinals = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String id = idOf.apply(i);
+                if (id != null) {
+                    ordinals.putIfAbsent(id, i);
+                }
+            }
+            return ordinals;
+        }
+    }
+
+    private final Map<String, Adjacency> graphs = new ConcurrentHashMap<>();
+
+    @Override
+    public void replace(String portfolioId, Portfolio portfolio) {
+        if (portfolio == null) {
+            graphs.remove(portfolioId);
+        } else {
+            graphs.put(portfolioId, new Adjacency(portfolio));
+        }
+    }
+
+    /**
+     * Projects using the skill; empty when the portfolio or skill is unknown
+     */
+    public Optional<List<Portfolio.Project>> projectsOfSkill(String portfolioId, String skillId) {
+        Adjacency graph = graphs.get(portfolioId);
+        Integer skill = graph != null ? graph.skillOrdinals.get(skillId) : null;
+        if (skill == null) {
+            return Optional.empty();
+        }
+        return Optional.of(neighbours(graph.skillOffsets, graph.skillEdges, skill, graph.projects));
+    }
+
+    /**
+     * Skills used by the project; empty when the portfolio or project is unknown
+     */
+    public Optional<List<Portfolio.Skill>> skillsOfProject(String portfolioId, String projectId) {
+        Adjacency graph = graphs.get(portfolioId);
+        Integer project = graph != null ? graph.projectOrdinals.get(projectId) : null;
+        if (project == null) {
+            return Optional.empty();
+        }
+        return Optional.of(neighbours(graph.projectOffsets, graph.projectEdges, project, graph.skills));
+    }
+
+    private static <T> List<T> neighbours(int[] offsets, int[] edges, int node, T[] targets) {
+        List<T> result = new ArrayList<>(offsets[node + 1] - offsets[node]);
+        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+            result.add(targets[edges[i]]);
+        }
+        return result;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> List<T> nonNull(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+}
@@ -0,0 +1,61 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Values the admin UI autocompletes, with where each is collected from in a {@link Portfolio}
+ */
+public enum SuggestionField {
+    TECHNOLOGIES("technologies", portfolio -> {
+        List<String> values = new ArrayList<>();
+        nonNull(portfolio.getProjects()).forEach(project -> values.addAll(nonNull(project.getTechnologies())));
+        nonNull(portfolio.getExperiences()).forEach(experience -> values.addAll(nonNull(experience.getTechnologies())));
+        nonNull(portfolio.getHackathons()).forEach(hackathon -> values.addAll(nonNull(hackathon.getTechnologies())));
+        return values;
+    }),
+    SKILLS("skills", portfolio -> nonNull(portfolio.getSkills()).stream().map(Portfolio.Skill::getName).toList()),
+    COMPANIES("companies", portfolio -> nonNull(portfolio.getExperiences()).stream().map(Portfolio.Experience::getCompany).toList()),
+    INSTITUTIONS("institutions", portfolio -> nonNull(portfolio.getEducation()).stream().map(Portfolio.Education::getInstitution).toList());
+
+    private final String parameter;
+    private final Function<Portfolio, List<String>> collector;
+
+    SuggestionField(String parameter, Function<Portfolio, List<String>> collector) {
+        this.parameter = parameter;
+        this.collector = collector;
+    }
+
+    /**
+     * Field for a {@code ?field=} value; singular forms are accepted too
+     */
+    public static Optional<SuggestionField> fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(field -> field.parameter.equals(value) || singular(field.parameter).equals(value))
+                .findFirst();
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Every occurrence in the portfolio, repeated values included so they weigh more
+     */
+    public List<String> valuesOf(Portfolio portfolio) {
+        return collector.apply(portfolio);
+    }
+
+    private static String singular(String plural) {
+        return plural.endsWith("ies") ? plural.substring(0, plural.length() - 3) + "y" : plural.substring(0, plural.length() - 1);
+    }
+
+    private static <T> List<T> nonNull(List<T> values) {
+        return values == null ? List.of() : values;
+    }
+}
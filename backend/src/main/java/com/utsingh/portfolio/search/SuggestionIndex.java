@@ -0,0 +1,62 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link SuggestionTrie} per {@link SuggestionField}, weighted by how often each value occurs across portfolios.
+ * The values each portfolio contributed are remembered so a write only applies the difference.
+ */
+@Component
+public class SuggestionIndex implements DerivedIndex {
+
+    private final Map<SuggestionField, SuggestionTrie> tries = new EnumMap<>(SuggestionField.class);
+    private final Map<String, Map<SuggestionField, List<String>>> contributions = new ConcurrentHashMap<>();
+    private final int topK;
+
+    public SuggestionIndex(@Value("${portfolio.suggest.top-k:10}") int topK) {
+        this.topK = topK;
+        for (SuggestionField field : SuggestionField.values()) {
+            tries.put(field, new SuggestionTrie(topK));
+        }
+    }
+
+    @Override
+    public void replace(String portfolioId, Portfolio portfolio) {
+        Map<SuggestionField, List<String>> previous = contributions.remove(portfolioId);
+        if (previous != null) {
+            previous.forEach((field, values) -> values.forEach(value -> tries.get(field).add(value, -1)));
+        }
+        if (portfolio == null) {
+            return;
+        }
+        Map<SuggestionField, List<String>> current = new EnumMap<>(SuggestionField.class);
+        for (SuggestionField field : SuggestionField.values()) {
+            List<String> values = field.valuesOf(portfolio);
+            values.forEach(value -> tries.get(field).add(value, 1));
+            current.put(field, values);
+        }
+        contributions.put(portfolioId, current);
+    }
+
+    /**
+     * Most frequent values of the field starting with {@code prefix}
+     */
+    public List<Suggestion> suggest(SuggestionField field, String prefix, int limit) {
+        return tries.get(field).suggest(prefix, limit);
+    }
+
+    /**
+     * Largest {@code limit} a lookup can satisfy, since each trie node only ranks its top entries
+     */
+    public int getTopK() {
+        return topK;
+    }
+}
@@ -0,0 +1,171 @@
+package com.utsingh.portfolio.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix trie of weighted terms. Every node keeps the top {@code k} terms of its subtree,
+ * so a lookup is a walk down the prefix plus a copy of at most {@code k} entries, independent of the vocabulary size.
+ * Children are kept in sorted parallel arrays rather than maps to keep nodes small.
+ */
+public final class SuggestionTrie {
+
+    @Value
+    public static class Suggestion {
+        String value;
+        int count;
+    }
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        // Set when a term ends here
+        Suggestion term;
+        Suggestion[] top = NONE;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+
+    private final int topK;
+    private final Node root = new Node();
+    private final Map<String, Suggestion> terms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Adjust the weight of a term by {@code delta}; the term disappears once its weight drops to zero.
+     * The first spelling seen is the one suggested.
+     */
+    public void add(String value, int delta) {
+        if (value == null || value.isBlank() || delta == 0) {
+            return;
+        }
+        String display = value.trim();
+        String key = display.toLowerCase(Locale.ROOT);
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = terms.get(key);
+            int count = (previous != null ? previous.getCount() : 0) + delta;
+            if (count <= 0 && previous == null) {
+                return;
+            }
+            Suggestion updated = count > 0 ? new Suggestion(previous != null ? previous.getValue() : display, count) : null;
+            if (updated != null) {
+                terms.put(key, updated);
+            } else {
+                terms.remove(key);
+            }
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].childOrCreate(key.charAt(i));
+            }
+            path[key.length()].term = updated;
+            // Children first, so every node merges already current child rankings
+            for (int depth = key.length(); depth >= 0; depth--) {
+                Node node = path[depth];
+                recomputeTop(node);
+                if (depth > 0 && node.term == null && node.children.length == 0) {
+                    path[depth - 1].removeChild(key.charAt(depth - 1));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Highest weighted terms starting with {@code prefix}, at most {@code k} of them
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recomputeTop(Node node) {
+        List<Suggestion> candidates = new ArrayList<>(topK * (node.children.length + 1) + 1);
+        if (node.term != null) {
+            candidates.add(node.term);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort((a, b) -> a.getCount() != b.getCount()
+                ? Integer.compare(b.getCount(), a.getCount())
+                : a.getValue().compareToIgnoreCase(b.getValue()));
+        node.top = candidates.subList(0, Math.min(topK, candidates.size())).toArray(NONE);
+    }
+}
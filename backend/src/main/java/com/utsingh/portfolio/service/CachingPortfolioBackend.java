@@ -0,0 +1,35 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.cache.PortfolioSnapshotCache;
+import com.utsingh.portfolio.model.Portfolio;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves whole-document reads from the {@link PortfolioSnapshotCache}, which write events keep current
+ */
+public class CachingPortfolioBackend extends DelegatingPortfolioBackend {
+
+    private final PortfolioSnapshotCache snapshotCache;
+
+    public CachingPortfolioBackend(PortfolioBackend delegate, PortfolioSnapshotCache snapshotCache) {
+        super(delegate);
+        this.snapshotCache = snapshotCache;
+    }
+
+    @Override
+    public List<Portfolio> getAllPortfolios() {
+        return snapshotCache.getAll(delegate::getAllPortfolios);
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioById(String id) {
+        return snapshotCache.getById(id, () -> delegate.getPortfolioById(id));
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioByName(String name) {
+        return snapshotCache.getByName(name, () -> delegate.getPortfolioByName(name));
+    }
+}
@@ -0,0 +1,72 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.model.Portfolio;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one backend call whose result every waiting caller shares,
+ * so a burst of requests for the same portfolio costs a single query.
+ * Loads are keyed by the write generation, so a read that starts after a write never joins a load that began before it.
+ */
+public class CoalescingPortfolioBackend extends DelegatingPortfolioBackend {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongSupplier writeGeneration;
+
+    public CoalescingPortfolioBackend(PortfolioBackend delegate, LongSupplier writeGeneration) {
+        super(delegate);
+        this.writeGeneration = writeGeneration;
+    }
+
+    @Override
+    public List<Portfolio> getAllPortfolios() {
+        return coalesce("all", delegate::getAllPortfolios);
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioById(String id) {
+        return coalesce("id:" + id, () -> delegate.getPortfolioById(id));
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioByName(String name) {
+        return coalesce("name:" + name, () -> delegate.getPortfolioByName(name));
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> getFacets(String portfolioId) {
+        return coalesce("facets:" + portfolioId, () -> delegate.getFacets(portfolioId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(String key, Supplier<T> loader) {
+        String generationKey = writeGeneration.getAsLong() + "/" + key;
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(generationKey, load);
+        if (running != null) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            T value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(generationKey, load);
+        }
+    }
+}
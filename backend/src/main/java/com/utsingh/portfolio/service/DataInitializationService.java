@@ -2,32 +2,108 @@ package com.utsingh.portfolio.service;
 
 import com.utsingh.portfolio.model.Portfolio;
 import com.utsingh.portfolio.repository.PortfolioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Seeds the sample portfolio in the background once the context is up, so a slow or unreachable database
+ * no longer holds up startup. The seed is an upsert keyed on {@code personalInfo.email}, safe to repeat and
+ * to race between instances. Retried with backoff until the database answers; until then {@link SeedHealthIndicator}
+ * keeps the readiness probe out of service while liveness stays up.
+ */
 @Service
-@Profile("!heroku")
-public class DataInitializationService implements CommandLineRunner {
+@Profile("!heroku & !reactive")
+public class DataInitializationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(DataInitializationService.class);
     
     @Autowired
     private PortfolioRepository portfolioRepository;
     
-    @Override
-    public void run(String... args) throws Exception {
-        // Check if data already exists
-        if (portfolioRepository.count() == 0) {
-            initializePortfolioData();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${portfolio.seed.retry-interval:5s}")
+    private Duration retryInterval;
+    
+    @Value("${portfolio.seed.max-retry-interval:1m}")
+    private Duration maxRetryInterval;
+    
+    private final ScheduledExecutorService seeder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "portfolio-seed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile boolean seeded;
+    private volatile String lastError;
+    
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        seeder.execute(() -> seed(retryInterval));
+    }
+    
+    public boolean isSeeded() {
+        return seeded;
+    }
+    
+    /**
+     * Message of the last failed attempt while the seed is still pending
+     */
+    public Optional<String> getLastError() {
+        return Optional.ofNullable(lastError);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        seeder.shutdownNow();
+    }
+    
+    private void seed(Duration backoff) {
+        Portfolio portfolio = createSamplePortfolio();
+        try {
+            portfolioRepository.insertIfAbsentByEmail(portfolio).ifPresentOrElse(id -> {
+                log.info("Seeded sample portfolio {}", id);
+                // The full document lets the email filter and the derived indexes pick the seed up without a read
+                portfolio.setId(id);
+                portfolio.setVersion(0L);
+                eventPublisher.publishEvent(PortfolioChangedEvent.saved(portfolio));
+            }, () -> log.debug("Sample portfolio already present"));
+        } catch (DuplicateKeyException e) {
+            // Another instance inserted it between our match and insert
+            log.debug("Sample portfolio inserted concurrently");
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Seeding failed, retrying in {}: {}", backoff, e.getMessage());
+            Duration next = backoff.multipliedBy(2);
+            Duration capped = next.compareTo(maxRetryInterval) > 0 ? maxRetryInterval : next;
+            seeder.schedule(() -> seed(capped), backoff.toMillis(), TimeUnit.MILLISECONDS);
+            return;
         }
+        lastError = null;
+        seeded = true;
     }
     
-    private void initializePortfolioData() {
+    private Portfolio createSamplePortfolio() {
         Portfolio portfolio = new Portfolio();
         
         // Personal Info
@@ -152,9 +228,7 @@ public class DataInitializationService implements CommandLineRunner {
         additionalData.put("version", "1.0.0");
         portfolio.setAdditionalData(additionalData);
         
-        // Save to database
-        portfolioRepository.save(portfolio);
-        System.out.println("Portfolio data initialized successfully!");
+        return portfolio;
     }
     
     private Portfolio.Project createProject(String id, String title, String description, List<String> technologies,
@@ -0,0 +1,177 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.ImportSummary;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioPage;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.model.SectionPage;
+import com.utsingh.portfolio.search.SuggestionField;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Base for decorators: forwards every operation, so a decorator only overrides what it changes
+ */
+public abstract class DelegatingPortfolioBackend implements PortfolioBackend {
+
+    protected final PortfolioBackend delegate;
+
+    protected DelegatingPortfolioBackend(PortfolioBackend delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Portfolio> getAllPortfolios() {
+        return delegate.getAllPortfolios();
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioById(String id) {
+        return delegate.getPortfolioById(id);
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioByName(String name) {
+        return delegate.getPortfolioByName(name);
+    }
+
+    @Override
+    public PortfolioPage getPortfolioPage(String after, int limit) {
+        return delegate.getPortfolioPage(after, limit);
+    }
+
+    @Override
+    public Stream<Portfolio> streamPortfolios(String after) {
+        return delegate.streamPortfolios(after);
+    }
+
+    @Override
+    public Stream<Map<String, Object>> exportPortfolios(String after) {
+        return delegate.exportPortfolios(after);
+    }
+
+    @Override
+    public Optional<SectionPage> getSection(String portfolioId, PortfolioSection section, String filterValue,
+                                            String after, int offset, int limit) {
+        return delegate.getSection(portfolioId, section, filterValue, after, offset, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllPortfolios(FieldProjection projection) {
+        return delegate.getAllPortfolios(projection);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getPortfolioById(String id, FieldProjection projection) {
+        return delegate.getPortfolioById(id, projection);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getPortfolioByName(String name, FieldProjection projection) {
+        return delegate.getPortfolioByName(name, projection);
+    }
+
+    @Override
+    public Portfolio createPortfolio(Portfolio portfolio) {
+        return delegate.createPortfolio(portfolio);
+    }
+
+    @Override
+    public ImportSummary importPortfolios(InputStream body) throws IOException {
+        return delegate.importPortfolios(body);
+    }
+
+    @Override
+    public Portfolio updatePortfolio(String id, Portfolio portfolio, Long expectedVersion) {
+        return delegate.updatePortfolio(id, portfolio, expectedVersion);
+    }
+
+    @Override
+    public boolean deletePortfolio(String id, Long expectedVersion) {
+        return delegate.deletePortfolio(id, expectedVersion);
+    }
+
+    @Override
+    public Portfolio addProject(String portfolioId, Portfolio.Project project, boolean returnDocument) {
+        return delegate.addProject(portfolioId, project, returnDocument);
+    }
+
+    @Override
+    public Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject,
+                                   boolean returnDocument) {
+        return delegate.updateProject(portfolioId, projectId, updatedProject, returnDocument);
+    }
+
+    @Override
+    public Portfolio deleteProject(String portfolioId, String projectId, boolean returnDocument) {
+        return delegate.deleteProject(portfolioId, projectId, returnDocument);
+    }
+
+    @Override
+    public Portfolio addSkill(String portfolioId, Portfolio.Skill skill, boolean returnDocument) {
+        return delegate.addSkill(portfolioId, skill, returnDocument);
+    }
+
+    @Override
+    public Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement, boolean returnDocument) {
+        return delegate.addAchievement(portfolioId, achievement, returnDocument);
+    }
+
+    @Override
+    public Portfolio addExperience(String portfolioId, Portfolio.Experience experience, boolean returnDocument) {
+        return delegate.addExperience(portfolioId, experience, returnDocument);
+    }
+
+    @Override
+    public Portfolio addEducation(String portfolioId, Portfolio.Education education, boolean returnDocument) {
+        return delegate.addEducation(portfolioId, education, returnDocument);
+    }
+
+    @Override
+    public Portfolio addTravel(String portfolioId, Portfolio.Travel travel, boolean returnDocument) {
+        return delegate.addTravel(portfolioId, travel, returnDocument);
+    }
+
+    @Override
+    public Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon, boolean returnDocument) {
+        return delegate.addHackathon(portfolioId, hackathon, returnDocument);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public List<Suggestion> suggest(SuggestionField field, String prefix, int limit) {
+        return delegate.suggest(field, prefix, limit);
+    }
+
+    @Override
+    public Optional<List<Portfolio.Project>> getProjectsOfSkill(String portfolioId, String skillId) {
+        return delegate.getProjectsOfSkill(portfolioId, skillId);
+    }
+
+    @Override
+    public Optional<List<Portfolio.Skill>> getSkillsOfProject(String portfolioId, String projectId) {
+        return delegate.getSkillsOfProject(portfolioId, projectId);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> getFacets(String portfolioId) {
+        return delegate.getFacets(portfolioId);
+    }
+}
@@ -1,136 +1,507 @@
 package com.utsingh.portfolio.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.ImportSummary;
 import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioFacet;
+import com.utsingh.portfolio.model.PortfolioPage;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.model.SectionPage;
+import com.utsingh.portfolio.search.DerivedIndex;
+import com.utsingh.portfolio.search.PortfolioSearchIndex;
+import com.utsingh.portfolio.search.SkillProjectGraph;
+import com.utsingh.portfolio.search.SuggestionField;
+import com.utsingh.portfolio.search.SuggestionIndex;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+import com.utsingh.portfolio.store.EmbeddedPortfolioStore;
+import jakarta.annotation.PostConstruct;
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * Portfolio operations without MongoDB, backed by the {@link EmbeddedPortfolioStore}.
+ * An empty store is seeded with the sample portfolio.
+ */
 @Service
 @Profile("heroku")
-public class HerokuPortfolioService {
+@Qualifier(PortfolioBackend.STORAGE)
+public class HerokuPortfolioService implements PortfolioBackend {
     
     private static final Portfolio SAMPLE_PORTFOLIO = createSamplePortfolio();
     
+    @Autowired
+    private EmbeddedPortfolioStore store;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private List<DerivedIndex> derivedIndexes;
+    
+    @Autowired
+    private PortfolioSearchIndex searchIndex;
+    
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private SkillProjectGraph skillProjectGraph;
+    
+    @Autowired
+    private IdGenerator idGenerator;
+    
+    @Value("${portfolio.import.batch-size:500}")
+    private int importBatchSize;
+    
+    /**
+     * Seed an empty store, then build the derived indexes from what it holds
+     */
+    @PostConstruct
+    void loadPortfolios() {
+        if (store.isEmpty()) {
+            store.insert(SAMPLE_PORTFOLIO);
+        }
+        store.findAll().forEach(portfolio -> derivedIndexes.forEach(index -> index.replace(portfolio.getId(), portfolio)));
+    }
+    
     /**
      * Get all portfolios
      */
     public List<Portfolio> getAllPortfolios() {
-        return Arrays.asList(SAMPLE_PORTFOLIO);
+        return store.findAll();
     }
     
     /**
      * Get portfolio by ID
      */
     public Optional<Portfolio> getPortfolioById(String id) {
-        if (SAMPLE_PORTFOLIO.getId().equals(id)) {
-            return Optional.of(SAMPLE_PORTFOLIO);
-        }
-        return Optional.empty();
+        return store.findById(id);
     }
     
     /**
      * Get portfolio by name
      */
     public Optional<Portfolio> getPortfolioByName(String name) {
-        if (SAMPLE_PORTFOLIO.getPersonalInfo().getName().equals(name)) {
-            return Optional.of(SAMPLE_PORTFOLIO);
+        return store.findFirstBy("personalInfo.name", name);
+    }
+    
+    /**
+     * Get one page of portfolios in id order, starting after the given cursor
+     */
+    public PortfolioPage getPortfolioPage(String after, int limit) {
+        List<Portfolio> items = store.findPage(after, limit + 1);
+        if (items.size() <= limit) {
+            return new PortfolioPage(items, null);
         }
-        return Optional.empty();
+        List<Portfolio> page = items.subList(0, limit);
+        return new PortfolioPage(page, page.get(limit - 1).getId());
+    }
+    
+    /**
+     * Stream all portfolios in id order
+     */
+    public Stream<Portfolio> streamPortfolios(String after) {
+        return store.stream(after);
+    }
+    
+    /**
+     * Every portfolio in id order after the checkpoint
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Map<String, Object>> exportPortfolios(String after) {
+        return streamPortfolios(after).map(portfolio -> (Map<String, Object>) objectMapper.convertValue(portfolio, Map.class));
+    }
+    
+    /**
+     * Get a window of one embedded section, optionally filtered on the section's filter field
+     */
+    public Optional<SectionPage> getSection(String portfolioId, PortfolioSection section, String filterValue,
+                                            String after, int offset, int limit) {
+        return getPortfolioById(portfolioId).map(portfolio -> {
+            List<Object> matching = section.itemsOf(portfolio).stream()
+                    .filter(item -> filterValue == null
+                            || filterValue.equals(new BeanWrapperImpl(item).getPropertyValue(section.getFilterField())))
+                    .collect(Collectors.toList());
+            int start = offset;
+            if (after != null) {
+                List<Object> ids = matching.stream().map(item -> new BeanWrapperImpl(item).getPropertyValue("id")).collect(Collectors.toList());
+                int index = ids.indexOf(after);
+                start = index < 0 ? matching.size() : index + 1;
+            }
+            start = Math.min(start, matching.size());
+            int end = Math.min(start + limit, matching.size());
+            String nextCursor = end < matching.size() && end > start
+                    ? String.valueOf(new BeanWrapperImpl(matching.get(end - 1)).getPropertyValue("id"))
+                    : null;
+            return new SectionPage(new ArrayList<>(matching.subList(start, end)), matching.size(), nextCursor);
+        });
+    }
+    
+    /**
+     * Get selected fields of all portfolios
+     */
+    public List<Map<String, Object>> getAllPortfolios(FieldProjection projection) {
+        return getAllPortfolios().stream().map(portfolio -> project(portfolio, projection)).collect(Collectors.toList());
     }
     
     /**
-     * Create new portfolio - returns sample portfolio for demo
+     * Get selected fields of a portfolio by ID
+     */
+    public Optional<Map<String, Object>> getPortfolioById(String id, FieldProjection projection) {
+        return getPortfolioById(id).map(portfolio -> project(portfolio, projection));
+    }
+    
+    /**
+     * Get selected fields of a portfolio by name
+     */
+    public Optional<Map<String, Object>> getPortfolioByName(String name, FieldProjection projection) {
+        return getPortfolioByName(name).map(portfolio -> project(portfolio, projection));
+    }
+    
+    /**
+     * Create new portfolio
      */
     public Portfolio createPortfolio(Portfolio portfolio) {
-        return SAMPLE_PORTFOLIO;
+        PortfolioService.generateIdsForNestedObjects(portfolio, idGenerator);
+        return published(store.insert(portfolio));
+    }
+    
+    /**
+     * Import portfolios from a JSON array or NDJSON body, inserted into the store a batch at a time
+     */
+    public ImportSummary importPortfolios(InputStream body) throws IOException {
+        return PortfolioService.importRecords(body, objectMapper, importBatchSize, this::prepareForImport, store::insertAll, this::published);
     }
     
     /**
-     * Update existing portfolio - returns sample portfolio for demo
+     * Update existing portfolio
      */
     public Portfolio updatePortfolio(String id, Portfolio portfolio) {
-        return SAMPLE_PORTFOLIO;
+        return updatePortfolio(id, portfolio, null);
     }
     
     /**
-     * Delete portfolio by ID - always returns true for demo
+     * Replace the portfolio only while it is still at the expected version, falling back to the version in the body
+     *
+     * @throws OptimisticLockingFailureException if the stored version has moved
+     */
+    public Portfolio updatePortfolio(String id, Portfolio portfolio, Long expectedVersion) {
+        PortfolioService.generateIdsForNestedObjects(portfolio, idGenerator);
+        return published(store.replace(id, portfolio, expectedVersion != null ? expectedVersion : portfolio.getVersion()));
+    }
+    
+    /**
+     * Delete portfolio by ID
      */
     public boolean deletePortfolio(String id) {
+        return deletePortfolio(id, null);
+    }
+    
+    /**
+     * Delete portfolio by ID, only while it is still at the expected version when one is given
+     *
+     * @throws OptimisticLockingFailureException if the stored version has moved
+     */
+    public boolean deletePortfolio(String id, Long expectedVersion) {
+        if (!store.delete(id, expectedVersion)) {
+            return false;
+        }
+        derivedIndexes.forEach(index -> index.replace(id, null));
+        eventPublisher.publishEvent(PortfolioChangedEvent.deleted(id));
         return true;
     }
     
     /**
-     * Add project to portfolio - returns sample portfolio for demo
+     * Add project to portfolio
      */
     public Portfolio addProject(String portfolioId, Portfolio.Project project) {
-        return SAMPLE_PORTFOLIO;
+        return addProject(portfolioId, project, true);
     }
     
     /**
-     * Update project in portfolio - returns sample portfolio for demo
+     * Add project to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addProject(String portfolioId, Portfolio.Project project, boolean returnDocument) {
+        if (project.getId() == null || project.getId().isEmpty()) {
+            project.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.PROJECTS, project), returnDocument);
+    }
+    
+    /**
+     * Update project in portfolio
      */
     public Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject) {
-        return SAMPLE_PORTFOLIO;
+        return updateProject(portfolioId, projectId, updatedProject, true);
     }
     
     /**
-     * Delete project from portfolio - returns sample portfolio for demo
+     * Replace project in place; returns null unless the updated portfolio is requested
+     */
+    public Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject, boolean returnDocument) {
+        updatedProject.setId(projectId);
+        return requested(update(portfolioId, portfolio -> {
+            List<Portfolio.Project> projects = new ArrayList<>(portfolio.getProjects() != null ? portfolio.getProjects() : List.of());
+            int index = IntStream.range(0, projects.size())
+                    .filter(i -> projectId.equals(projects.get(i).getId()))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Project not found with id: " + projectId));
+            projects.set(index, updatedProject);
+            portfolio.setProjects(projects);
+        }), returnDocument);
+    }
+    
+    /**
+     * Delete project from portfolio
      */
     public Portfolio deleteProject(String portfolioId, String projectId) {
-        return SAMPLE_PORTFOLIO;
+        return deleteProject(portfolioId, projectId, true);
+    }
+    
+    /**
+     * Remove project by its id; returns null unless the updated portfolio is requested
+     */
+    public Portfolio deleteProject(String portfolioId, String projectId, boolean returnDocument) {
+        return requested(update(portfolioId, portfolio -> {
+            if (portfolio.getProjects() != null) {
+                List<Portfolio.Project> projects = new ArrayList<>(portfolio.getProjects());
+                projects.removeIf(project -> projectId.equals(project.getId()));
+                portfolio.setProjects(projects);
+            }
+        }), returnDocument);
     }
     
     /**
-     * Add skill to portfolio - returns sample portfolio for demo
+     * Add skill to portfolio
      */
     public Portfolio addSkill(String portfolioId, Portfolio.Skill skill) {
-        return SAMPLE_PORTFOLIO;
+        return addSkill(portfolioId, skill, true);
+    }
+    
+    /**
+     * Add skill to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addSkill(String portfolioId, Portfolio.Skill skill, boolean returnDocument) {
+        if (skill.getId() == null || skill.getId().isEmpty()) {
+            skill.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.SKILLS, skill), returnDocument);
     }
     
     /**
-     * Add achievement to portfolio - returns sample portfolio for demo
+     * Add achievement to portfolio
      */
     public Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement) {
-        return SAMPLE_PORTFOLIO;
+        return addAchievement(portfolioId, achievement, true);
+    }
+    
+    /**
+     * Add achievement to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement, boolean returnDocument) {
+        if (achievement.getId() == null || achievement.getId().isEmpty()) {
+            achievement.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.ACHIEVEMENTS, achievement), returnDocument);
     }
     
     /**
-     * Add experience to portfolio - returns sample portfolio for demo
+     * Add experience to portfolio
      */
     public Portfolio addExperience(String portfolioId, Portfolio.Experience experience) {
-        return SAMPLE_PORTFOLIO;
+        return addExperience(portfolioId, experience, true);
     }
     
     /**
-     * Add education to portfolio - returns sample portfolio for demo
+     * Add experience to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addExperience(String portfolioId, Portfolio.Experience experience, boolean returnDocument) {
+        if (experience.getId() == null || experience.getId().isEmpty()) {
+            experience.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.EXPERIENCES, experience), returnDocument);
+    }
+    
+    /**
+     * Add education to portfolio
      */
     public Portfolio addEducation(String portfolioId, Portfolio.Education education) {
-        return SAMPLE_PORTFOLIO;
+        return addEducation(portfolioId, education, true);
     }
     
     /**
-     * Add travel to portfolio - returns sample portfolio for demo
+     * Add education to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addEducation(String portfolioId, Portfolio.Education education, boolean returnDocument) {
+        if (education.getId() == null || education.getId().isEmpty()) {
+            education.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.EDUCATION, education), returnDocument);
+    }
+    
+    /**
+     * Add travel to portfolio
      */
     public Portfolio addTravel(String portfolioId, Portfolio.Travel travel) {
-        return SAMPLE_PORTFOLIO;
+        return addTravel(portfolioId, travel, true);
     }
     
     /**
-     * Add hackathon to portfolio - returns sample portfolio for demo
+     * Add travel to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addTravel(String portfolioId, Portfolio.Travel travel, boolean returnDocument) {
+        if (travel.getId() == null || travel.getId().isEmpty()) {
+            travel.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.TRAVELS, travel), returnDocument);
+    }
+    
+    /**
+     * Add hackathon to portfolio
      */
     public Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon) {
-        return SAMPLE_PORTFOLIO;
+        return addHackathon(portfolioId, hackathon, true);
+    }
+    
+    /**
+     * Add hackathon to portfolio; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon, boolean returnDocument) {
+        if (hackathon.getId() == null || hackathon.getId().isEmpty()) {
+            hackathon.setId(idGenerator.nextId());
+        }
+        return requested(pushItem(portfolioId, PortfolioSection.HACKATHONS, hackathon), returnDocument);
+    }
+    
+    /**
+     * Full-text search over section items, answered from the in-memory index
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+    
+    /**
+     * Autocomplete suggestions for a field, most frequent first
+     */
+    public List<Suggestion> suggest(SuggestionField field, String prefix, int limit) {
+        return suggestionIndex.suggest(field, prefix, limit);
+    }
+    
+    /**
+     * Projects that use a skill, from the precomputed skill/project graph
+     */
+    public Optional<List<Portfolio.Project>> getProjectsOfSkill(String portfolioId, String skillId) {
+        return skillProjectGraph.projectsOfSkill(portfolioId, skillId);
+    }
+    
+    /**
+     * Skills used by a project, from the precomputed skill/project graph
+     */
+    public Optional<List<Portfolio.Skill>> getSkillsOfProject(String portfolioId, String projectId) {
+        return skillProjectGraph.skillsOfProject(portfolioId, projectId);
     }
     
     /**
-     * Check if portfolio exists by email - always returns true for demo
+     * Facet counts for one portfolio, or across all when {@code portfolioId} is null
+     */
+    public Map<String, Map<String, Long>> getFacets(String portfolioId) {
+        List<Portfolio> portfolios = portfolioId == null ? getAllPortfolios() : getPortfolioById(portfolioId).stream().toList();
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (PortfolioFacet facet : PortfolioFacet.values()) {
+            Map<String, Long> values = portfolios.stream()
+                    .flatMap(portfolio -> PortfolioSection.fromPath(facet.getSection()).orElseThrow().itemsOf(portfolio).stream())
+                    .flatMap(item -> {
+                        Object value = new BeanWrapperImpl(item).getPropertyValue(facet.getField());
+                        return value instanceof List<?> list ? list.stream() : Stream.of(value);
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.groupingBy(String::valueOf, Collectors.counting()));
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            values.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            counts.put(facet.getPath(), sorted);
+        }
+        return counts;
+    }
+    
+    /**
+     * Check if portfolio exists by email
      */
     public boolean existsByEmail(String email) {
-        return true;
+        return store.existsBy("personalInfo.email", email);
+    }
+    
+    /**
+     * Notify listeners (version registry, encoded cache) and refresh the derived indexes with the stored state
+     */
+    private Portfolio published(Portfolio saved) {
+        derivedIndexes.forEach(index -> index.replace(saved.getId(), saved));
+        eventPublisher.publishEvent(PortfolioChangedEvent.saved(saved));
+        return saved;
+    }
+    
+    private void prepareForImport(Portfolio portfolio) {
+        PortfolioService.generateIdsForNestedObjects(portfolio, idGenerator);
+        // Assigned up front so results and events carry the id the store keeps
+        if (portfolio.getId() == null || portfolio.getId().isBlank()) {
+            portfolio.setId(new ObjectId().toHexString());
+        }
+        portfolio.setVersion(0L);
+    }
+    
+    /**
+     * The write already happened in memory; the document is only withheld from the caller
+     */
+    private static Portfolio requested(Portfolio updated, boolean returnDocument) {
+        return returnDocument ? updated : null;
+    }
+    
+    private Portfolio update(String portfolioId, Consumer<Portfolio> mutation) {
+        return published(store.update(portfolioId, mutation)
+                .orElseThrow(() -> new RuntimeException("Portfolio not found with id: " + portfolioId)));
+    }
+    
+    /**
+     * Append an item to a section on a copy of the stored portfolio
+     */
+    private Portfolio pushItem(String portfolioId, PortfolioSection section, Object item) {
+        return update(portfolioId, portfolio -> {
+            List<Object> items = new ArrayList<>(section.itemsOf(portfolio));
+            items.add(item);
+            new BeanWrapperImpl(portfolio).setPropertyValue(section.getField(), items);
+        });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> project(Portfolio portfolio, FieldProjection projection) {
+        return projection.applyTo(objectMapper.convertValue(portfolio, Map.class));
     }
     
     /**
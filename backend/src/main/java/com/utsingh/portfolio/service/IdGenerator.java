@@ -0,0 +1,10 @@
+package com.utsingh.portfolio.service;
+
+/**
+ * Source of ids for nested section items (projects, skills, ...), selected by {@code portfolio.ids.generator}
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,120 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.ImportSummary;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioPage;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.model.SectionPage;
+import com.utsingh.portfolio.search.SuggestionField;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Portfolio operations behind the REST API. Implementations are the storage backends, qualified with
+ * {@link #STORAGE}, and the decorators that {@code PortfolioBackendConfig} stacks around the active one.
+ * Returned portfolios may be shared between requests and must be treated as read-only.
+ */
+public interface PortfolioBackend {
+
+    /**
+     * Qualifier of the storage backend selected by the active profile
+     */
+    String STORAGE = "portfolioStorage";
+
+    List<Portfolio> getAllPortfolios();
+
+    Optional<Portfolio> getPortfolioById(String id);
+
+    Optional<Portfolio> getPortfolioByName(String name);
+
+    /**
+     * One page of portfolios in id order, starting after the given cursor
+     */
+    PortfolioPage getPortfolioPage(String after, int limit);
+
+    /**
+     * All portfolios in id order after the cursor; the caller must close the stream
+     */
+    Stream<Portfolio> streamPortfolios(String after);
+
+    /**
+     * Every portfolio as stored, in API shape and id order after the checkpoint; the caller must close the stream
+     */
+    Stream<Map<String, Object>> exportPortfolios(String after);
+
+    /**
+     * Window of one embedded section, optionally filtered on the section's filter field
+     */
+    Optional<SectionPage> getSection(String portfolioId, PortfolioSection section, String filterValue,
+                                     String after, int offset, int limit);
+
+    List<Map<String, Object>> getAllPortfolios(FieldProjection projection);
+
+    Optional<Map<String, Object>> getPortfolioById(String id, FieldProjection projection);
+
+    Optional<Map<String, Object>> getPortfolioByName(String name, FieldProjection projection);
+
+    Portfolio createPortfolio(Portfolio portfolio);
+
+    /**
+     * Import portfolios from a JSON array or NDJSON body
+     */
+    ImportSummary importPortfolios(InputStream body) throws IOException;
+
+    /**
+     * Replace the portfolio, only while it is still at the expected version when one is given
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the stored version has moved
+     */
+    Portfolio updatePortfolio(String id, Portfolio portfolio, Long expectedVersion);
+
+    /**
+     * Delete the portfolio, only while it is still at the expected version when one is given
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the stored version has moved
+     */
+    boolean deletePortfolio(String id, Long expectedVersion);
+
+    // Sub-document writes return the updated portfolio, or null when it was not requested
+
+    Portfolio addProject(String portfolioId, Portfolio.Project project, boolean returnDocument);
+
+    Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject, boolean returnDocument);
+
+    Portfolio deleteProject(String portfolioId, String projectId, boolean returnDocument);
+
+    Portfolio addSkill(String portfolioId, Portfolio.Skill skill, boolean returnDocument);
+
+    Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement, boolean returnDocument);
+
+    Portfolio addExperience(String portfolioId, Portfolio.Experience experience, boolean returnDocument);
+
+    Portfolio addEducation(String portfolioId, Portfolio.Education education, boolean returnDocument);
+
+    Portfolio addTravel(String portfolioId, Portfolio.Travel travel, boolean returnDocument);
+
+    Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon, boolean returnDocument);
+
+    boolean existsByEmail(String email);
+
+    List<SearchHit> search(String query, int limit);
+
+    List<Suggestion> suggest(SuggestionField field, String prefix, int limit);
+
+    Optional<List<Portfolio.Project>> getProjectsOfSkill(String portfolioId, String skillId);
+
+    Optional<List<Portfolio.Skill>> getSkillsOfProject(String portfolioId, String projectId);
+
+    /**
+     * Facet counts for one portfolio, or across all when {@code portfolioId} is null
+     */
+    Map<String, Map<String, Long>> getFacets(String portfolioId);
+}
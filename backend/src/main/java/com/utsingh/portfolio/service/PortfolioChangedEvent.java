@@ -0,0 +1,28 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.model.Portfolio;
+import lombok.Value;
+
+/**
+ * Published by {@link PortfolioService} after every successful write.
+ * {@code portfolio} is the document as stored after the write, or null when it was deleted
+ * or the write did not read it back.
+ */
+@Value
+public class PortfolioChangedEvent {
+    String portfolioId;
+    Portfolio portfolio;
+    boolean deleted;
+
+    public static PortfolioChangedEvent saved(Portfolio portfolio) {
+        return new PortfolioChangedEvent(portfolio.getId(), portfolio, false);
+    }
+
+    public static PortfolioChangedEvent modified(String portfolioId) {
+        return new PortfolioChangedEvent(portfolioId, null, false);
+    }
+
+    public static PortfolioChangedEvent deleted(String portfolioId) {
+        return new PortfolioChangedEvent(portfolioId, null, true);
+    }
+}
@@ -1,22 +1,93 @@
 package com.utsingh.portfolio.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.cache.FacetCountsCache;
+import com.utsingh.portfolio.cache.KnownEmailFilter;
+import com.utsingh.portfolio.model.FieldProjection;
+import com.utsingh.portfolio.model.ImportSummary;
 import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioPage;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.model.SectionPage;
 import com.utsingh.portfolio.repository.PortfolioRepository;
+import com.utsingh.portfolio.search.PortfolioSearchIndex;
+import com.utsingh.portfolio.search.SkillProjectGraph;
+import com.utsingh.portfolio.search.SuggestionField;
+import com.utsingh.portfolio.search.SuggestionIndex;
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * MongoDB storage backend; caching, coalescing and metrics are layered on by the backend decorators.
+ */
 @Service
-@Profile("!heroku")
-public class PortfolioService {
+@Profile("!heroku & !reactive")
+@Qualifier(PortfolioBackend.STORAGE)
+public class PortfolioService implements PortfolioBackend {
     
     @Autowired
     private PortfolioRepository portfolioRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private KnownEmailFilter knownEmails;
+    
+    @Autowired
+    private FacetCountsCache facetCountsCache;
+    
+    @Autowired
+    private PortfolioSearchIndex searchIndex;
+    
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private SkillProjectGraph skillProjectGraph;
+    
+    @Value("${portfolio.stream.batch-size:100}")
+    private int streamBatchSize;
+    
+    @Value("${portfolio.import.batch-size:500}")
+    private int importBatchSize;
+    
+    @Value("${portfolio.export.batch-size:200}")
+    private int exportBatchSize;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private IdGenerator idGenerator;
+    
     /**
      * Get all portfolios
      */
@@ -38,32 +109,180 @@ public class PortfolioService {
         return portfolioRepository.findByPersonalInfoName(name);
     }
     
+    /**
+     * Get one page of portfolios in id order, starting after the given cursor
+     */
+    public PortfolioPage getPortfolioPage(String after, int limit) {
+        List<Portfolio> items = portfolioRepository.findPage(null, after, limit + 1);
+        if (items.size() <= limit) {
+            return new PortfolioPage(items, null);
+        }
+        List<Portfolio> page = items.subList(0, limit);
+        return new PortfolioPage(page, page.get(limit - 1).getId());
+    }
+    
+    /**
+     * Stream all portfolios in id order from a database cursor; the caller must close the stream
+     */
+    public Stream<Portfolio> streamPortfolios(String after) {
+        return portfolioRepository.streamPortfolios(null, after, streamBatchSize);
+    }
+    
+    /**
+     * Every portfolio as stored, in id order after the checkpoint, read in bounded cursor batches
+     */
+    public Stream<Map<String, Object>> exportPortfolios(String after) {
+        return portfolioRepository.streamRawPortfolios(after, exportBatchSize);
+    }
+    
+    /**
+     * Get a window of one embedded section, optionally filtered on the section's filter field
+     */
+    public Optional<SectionPage> getSection(String portfolioId, PortfolioSection section, String filterValue,
+                                            String after, int offset, int limit) {
+        return portfolioRepository.findSectionPage(portfolioId, section, filterValue, after, offset, limit);
+    }
+    
+    /**
+     * Get selected fields of all portfolios, projected in MongoDB
+     */
+    public List<Map<String, Object>> getAllPortfolios(FieldProjection projection) {
+        return portfolioRepository.findAllProjected(projection);
+    }
+    
+    /**
+     * Get selected fields of a portfolio by ID, projected in MongoDB
+     */
+    public Optional<Map<String, Object>> getPortfolioById(String id, FieldProjection projection) {
+        return portfolioRepository.findProjectedById(id, projection);
+    }
+    
+    /**
+     * Get selected fields of a portfolio by name, projected in MongoDB
+     */
+    public Optional<Map<String, Object>> getPortfolioByName(String name, FieldProjection projection) {
+        return portfolioRepository.findProjectedByName(name, projection);
+    }
+    
     /**
      * Create new portfolio
      */
     public Portfolio createPortfolio(Portfolio portfolio) {
         // Generate IDs for nested objects if not provided
-        generateIdsForNestedObjects(portfolio);
-        return portfolioRepository.save(portfolio);
+        generateIdsForNestedObjects(portfolio, idGenerator);
+        // A null version makes save() insert rather than replace an existing document
+        portfolio.setVersion(null);
+        return published(portfolioRepository.save(portfolio));
+    }
+    
+    /**
+     * Import portfolios from a JSON array or NDJSON body, inserted in unordered bulk batches
+     */
+    public ImportSummary importPortfolios(InputStream body) throws IOException {
+        return importRecords(body, objectMapper, importBatchSize, this::prepareForImport, portfolioRepository::insertAll, this::published);
+    }
+    
+    /**
+     * Parse a JSON array or NDJSON body one record at a time and hand the bound portfolios to {@code insertAll} in
+     * batches; it returns an error message by position for each one it did not insert. Records that fail to bind or
+     * insert are reported individually; a malformed payload stops the import but keeps what was already inserted.
+     */
+    static ImportSummary importRecords(InputStream body, ObjectMapper objectMapper, int batchSize,
+                                       Consumer<Portfolio> prepare,
+                                       Function<List<Portfolio>, Map<Integer, String>> insertAll,
+                                       Consumer<Portfolio> inserted) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        List<Portfolio> batch = new ArrayList<>(batchSize);
+        List<Integer> positions = new ArrayList<>(batchSize);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            // NDJSON needs no special casing: the parser reads whitespace separated root values in sequence
+            int index = 0;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                int position = index++;
+                summary.setReceived(index);
+                JsonNode record = objectMapper.readTree(parser);
+                try {
+                    Portfolio portfolio = objectMapper.treeToValue(record, Portfolio.class);
+                    prepare.accept(portfolio);
+                    batch.add(portfolio);
+                    positions.add(position);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    summary.failed(position, null, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flushImport(batch, positions, summary, insertAll, inserted);
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            summary.setComplete(false);
+            summary.setError(e.getOriginalMessage());
+        }
+        flushImport(batch, positions, summary, insertAll, inserted);
+        summary.getResults().sort(Comparator.comparingInt(ImportSummary.Result::getIndex));
+        return summary;
     }
     
     /**
      * Update existing portfolio
      */
     public Portfolio updatePortfolio(String id, Portfolio portfolio) {
+        return updatePortfolio(id, portfolio, null);
+    }
+    
+    /**
+     * Replace the portfolio only while it is still at the expected version, falling back to the version in the body.
+     * With neither, the current version is replaced as before, but the version is still bumped.
+     *
+     * @throws OptimisticLockingFailureException if the stored version has moved
+     */
+    public Portfolio updatePortfolio(String id, Portfolio portfolio, Long expectedVersion) {
         portfolio.setId(id);
-        generateIdsForNestedObjects(portfolio);
-        return portfolioRepository.save(portfolio);
+        generateIdsForNestedObjects(portfolio, idGenerator);
+        if (expectedVersion != null) {
+            if (expectedVersion == 0) {
+                // Gives a document stored before versioning its version field, so the conditional save can match it
+                portfolioRepository.findVersionById(id);
+            }
+            portfolio.setVersion(expectedVersion);
+        } else if (portfolio.getVersion() == null) {
+            portfolio.setVersion(portfolioRepository.findVersionById(id).orElse(null));
+        }
+        return published(portfolioRepository.save(portfolio));
     }
     
     /**
      * Delete portfolio by ID
      */
     public boolean deletePortfolio(String id) {
-        if (portfolioRepository.existsById(id)) {
-            portfolioRepository.deleteById(id);
+        return deletePortfolio(id, null);
+    }
+    
+    /**
+     * Delete portfolio by ID, only while it is still at the expected version when one is given
+     *
+     * @throws OptimisticLockingFailureException if the stored version has moved
+     */
+    public boolean deletePortfolio(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            if (portfolioRepository.existsById(id)) {
+                portfolioRepository.deleteById(id);
+                eventPublisher.publishEvent(PortfolioChangedEvent.deleted(id));
+                return true;
+            }
+            return false;
+        }
+        if (portfolioRepository.deleteByIdAndVersion(id, expectedVersion)) {
+            eventPublisher.publishEvent(PortfolioChangedEvent.deleted(id));
             return true;
         }
+        if (portfolioRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("Portfolio " + id + " is no longer at version " + expectedVersion);
+        }
         return false;
     }
     
@@ -71,162 +290,273 @@ public class PortfolioService {
      * Add project to portfolio
      */
     public Portfolio addProject(String portfolioId, Portfolio.Project project) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (project.getId() == null || project.getId().isEmpty()) {
-                project.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getProjects().add(project);
-            return portfolioRepository.save(portfolio);
+        return addProject(portfolioId, project, true);
+    }
+    
+    /**
+     * Add project to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addProject(String portfolioId, Portfolio.Project project, boolean returnDocument) {
+        if (project.getId() == null || project.getId().isEmpty()) {
+            project.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.PROJECTS, project, returnDocument);
     }
     
     /**
      * Update project in portfolio
      */
     public Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            List<Portfolio.Project> projects = portfolio.getProjects();
-            for (int i = 0; i < projects.size(); i++) {
-                if (projects.get(i).getId().equals(projectId)) {
-                    updatedProject.setId(projectId);
-                    projects.set(i, updatedProject);
-                    return portfolioRepository.save(portfolio);
-                }
-            }
-            throw new RuntimeException("Project not found with id: " + projectId);
-        }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return updateProject(portfolioId, projectId, updatedProject, true);
+    }
+    
+    /**
+     * Replace project in place with a positional $set; returns null unless the updated portfolio is requested
+     */
+    public Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject, boolean returnDocument) {
+        updatedProject.setId(projectId);
+        String field = PortfolioSection.PROJECTS.getField();
+        Query query = Query.query(Criteria.where("id").is(portfolioId).and(field + ".id").is(projectId));
+        Update update = new Update().set(field + ".$", updatedProject);
+        return applyUpdate(portfolioId, query, update, returnDocument, () -> portfolioRepository.existsById(portfolioId)
+                ? new RuntimeException("Project not found with id: " + projectId)
+                : portfolioNotFound(portfolioId));
     }
     
     /**
      * Delete project from portfolio
      */
     public Portfolio deleteProject(String portfolioId, String projectId) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            portfolio.getProjects().removeIf(project -> project.getId().equals(projectId));
-            return portfolioRepository.save(portfolio);
-        }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return deleteProject(portfolioId, projectId, true);
+    }
+    
+    /**
+     * Remove project with a $pull by its id; returns null unless the updated portfolio is requested
+     */
+    public Portfolio deleteProject(String portfolioId, String projectId, boolean returnDocument) {
+        String field = PortfolioSection.PROJECTS.getField();
+        Update update = new Update().pull(field, Query.query(Criteria.where("id").is(projectId)));
+        return applyUpdate(portfolioId, byId(portfolioId), update, returnDocument, () -> portfolioNotFound(portfolioId));
     }
     
     /**
      * Add skill to portfolio
      */
     public Portfolio addSkill(String portfolioId, Portfolio.Skill skill) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (skill.getId() == null || skill.getId().isEmpty()) {
-                skill.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getSkills().add(skill);
-            return portfolioRepository.save(portfolio);
+        return addSkill(portfolioId, skill, true);
+    }
+    
+    /**
+     * Add skill to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addSkill(String portfolioId, Portfolio.Skill skill, boolean returnDocument) {
+        if (skill.getId() == null || skill.getId().isEmpty()) {
+            skill.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.SKILLS, skill, returnDocument);
     }
     
     /**
      * Add achievement to portfolio
      */
     public Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (achievement.getId() == null || achievement.getId().isEmpty()) {
-                achievement.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getAchievements().add(achievement);
-            return portfolioRepository.save(portfolio);
+        return addAchievement(portfolioId, achievement, true);
+    }
+    
+    /**
+     * Add achievement to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement, boolean returnDocument) {
+        if (achievement.getId() == null || achievement.getId().isEmpty()) {
+            achievement.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.ACHIEVEMENTS, achievement, returnDocument);
     }
     
     /**
      * Add experience to portfolio
      */
     public Portfolio addExperience(String portfolioId, Portfolio.Experience experience) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (experience.getId() == null || experience.getId().isEmpty()) {
-                experience.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getExperiences().add(experience);
-            return portfolioRepository.save(portfolio);
+        return addExperience(portfolioId, experience, true);
+    }
+    
+    /**
+     * Add experience to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addExperience(String portfolioId, Portfolio.Experience experience, boolean returnDocument) {
+        if (experience.getId() == null || experience.getId().isEmpty()) {
+            experience.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.EXPERIENCES, experience, returnDocument);
     }
     
     /**
      * Add education to portfolio
      */
     public Portfolio addEducation(String portfolioId, Portfolio.Education education) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (education.getId() == null || education.getId().isEmpty()) {
-                education.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getEducation().add(education);
-            return portfolioRepository.save(portfolio);
+        return addEducation(portfolioId, education, true);
+    }
+    
+    /**
+     * Add education to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addEducation(String portfolioId, Portfolio.Education education, boolean returnDocument) {
+        if (education.getId() == null || education.getId().isEmpty()) {
+            education.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.EDUCATION, education, returnDocument);
     }
     
     /**
      * Add travel to portfolio
      */
     public Portfolio addTravel(String portfolioId, Portfolio.Travel travel) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (travel.getId() == null || travel.getId().isEmpty()) {
-                travel.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getTravels().add(travel);
-            return portfolioRepository.save(portfolio);
+        return addTravel(portfolioId, travel, true);
+    }
+    
+    /**
+     * Add travel to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addTravel(String portfolioId, Portfolio.Travel travel, boolean returnDocument) {
+        if (travel.getId() == null || travel.getId().isEmpty()) {
+            travel.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.TRAVELS, travel, returnDocument);
     }
     
     /**
      * Add hackathon to portfolio
      */
     public Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(portfolioId);
-        if (portfolioOpt.isPresent()) {
-            Portfolio portfolio = portfolioOpt.get();
-            if (hackathon.getId() == null || hackathon.getId().isEmpty()) {
-                hackathon.setId(UUID.randomUUID().toString());
-            }
-            portfolio.getHackathons().add(hackathon);
-            return portfolioRepository.save(portfolio);
+        return addHackathon(portfolioId, hackathon, true);
+    }
+    
+    /**
+     * Add hackathon to portfolio with a single $push; returns null unless the updated portfolio is requested
+     */
+    public Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon, boolean returnDocument) {
+        if (hackathon.getId() == null || hackathon.getId().isEmpty()) {
+            hackathon.setId(idGenerator.nextId());
         }
-        throw new RuntimeException("Portfolio not found with id: " + portfolioId);
+        return pushItem(portfolioId, PortfolioSection.HACKATHONS, hackathon, returnDocument);
     }
     
     /**
      * Check if portfolio exists by email
      */
     public boolean existsByEmail(String email) {
+        if (!knownEmails.mightContain(email)) {
+            return false;
+        }
         return portfolioRepository.existsByPersonalInfoEmail(email);
     }
     
+    /**
+     * Full-text search over section items, answered from the in-memory index
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+    
+    /**
+     * Autocomplete suggestions for a field, most frequent first
+     */
+    public List<Suggestion> suggest(SuggestionField field, String prefix, int limit) {
+        return suggestionIndex.suggest(field, prefix, limit);
+    }
+    
+    /**
+     * Projects that use a skill, from the precomputed skill/project graph
+     */
+    public Optional<List<Portfolio.Project>> getProjectsOfSkill(String portfolioId, String skillId) {
+        return skillProjectGraph.projectsOfSkill(portfolioId, skillId);
+    }
+    
+    /**
+     * Skills used by a project, from the precomputed skill/project graph
+     */
+    public Optional<List<Portfolio.Skill>> getSkillsOfProject(String portfolioId, String projectId) {
+        return skillProjectGraph.skillsOfProject(portfolioId, projectId);
+    }
+    
+    /**
+     * Facet counts for one portfolio, or across all when {@code portfolioId} is null
+     */
+    public Map<String, Map<String, Long>> getFacets(String portfolioId) {
+        return facetCountsCache.get(portfolioId, () -> portfolioRepository.countFacets(portfolioId));
+    }
+    
+    /**
+     * Notify listeners (caches, indexes) about the stored state of a portfolio
+     */
+    private Portfolio published(Portfolio saved) {
+        eventPublisher.publishEvent(PortfolioChangedEvent.saved(saved));
+        return saved;
+    }
+    
+    private void prepareForImport(Portfolio portfolio) {
+        generateIdsForNestedObjects(portfolio, idGenerator);
+        // Assigned up front so results can report it; stored as an ObjectId like ids generated by save()
+        if (portfolio.getId() == null || portfolio.getId().isBlank()) {
+            portfolio.setId(new ObjectId().toHexString());
+        }
+        portfolio.setVersion(0L);
+    }
+    
+    private static void flushImport(List<Portfolio> batch, List<Integer> positions, ImportSummary summary,
+                                    Function<List<Portfolio>, Map<Integer, String>> insertAll, Consumer<Portfolio> inserted) {
+        Map<Integer, String> failures = insertAll.apply(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            Portfolio portfolio = batch.get(i);
+            if (failures.containsKey(i)) {
+                summary.failed(positions.get(i), portfolio.getId(), failures.get(i));
+            } else {
+                summary.inserted(positions.get(i), portfolio.getId());
+                inserted.accept(portfolio);
+            }
+        }
+        batch.clear();
+        positions.clear();
+    }
+    
+    private Portfolio pushItem(String portfolioId, PortfolioSection section, Object item, boolean returnDocument) {
+        Update update = new Update().push(section.getField(), item);
+        return applyUpdate(portfolioId, byId(portfolioId), update, returnDocument, () -> portfolioNotFound(portfolioId));
+    }
+    
+    /**
+     * Run a single server-side update, reading the document back through findAndModify only when requested.
+     * Returns the updated portfolio, or null when it was not requested.
+     */
+    private Portfolio applyUpdate(String portfolioId, Query query, Update update, boolean returnDocument,
+                                  Supplier<RuntimeException> notMatched) {
+        update.inc("version", 1);
+        if (returnDocument) {
+            return published(portfolioRepository.updateAndGetPortfolio(query, update).orElseThrow(notMatched));
+        }
+        if (!portfolioRepository.updatePortfolio(query, update)) {
+            throw notMatched.get();
+        }
+        eventPublisher.publishEvent(PortfolioChangedEvent.modified(portfolioId));
+        return null;
+    }
+    
+    private static RuntimeException portfolioNotFound(String portfolioId) {
+        return new RuntimeException("Portfolio not found with id: " + portfolioId);
+    }
+    
+    private static Query byId(String portfolioId) {
+        return Query.query(Criteria.where("id").is(portfolioId));
+    }
+    
     /**
      * Generate IDs for nested objects if not provided
      */
-    private void generateIdsForNestedObjects(Portfolio portfolio) {
+    static void generateIdsForNestedObjects(Portfolio portfolio, IdGenerator ids) {
         if (portfolio.getProjects() != null) {
             portfolio.getProjects().forEach(project -> {
                 if (project.getId() == null || project.getId().isEmpty()) {
-                    project.setId(UUID.randomUUID().toString());
+                    project.setId(ids.nextId());
                 }
             });
         }
@@ -234,7 +564,7 @@ public class PortfolioService {
         if (portfolio.getSkills() != null) {
             portfolio.getSkills().forEach(skill -> {
                 if (skill.getId() == null || skill.getId().isEmpty()) {
-                    skill.setId(UUID.randomUUID().toString());
+                    skill.setId(ids.nextId());
                 }
             });
         }
@@ -242,7 +572,7 @@ public class PortfolioService {
         if (portfolio.getAchievements() != null) {
             portfolio.getAchievements().forEach(achievement -> {
                 if (achievement.getId() == null || achievement.getId().isEmpty()) {
-                    achievement.setId(UUID.randomUUID().toString());
+                    achievement.setId(ids.nextId());
                 }
             });
         }
@@ -250,7 +580,7 @@ public class PortfolioService {
         if (portfolio.getExperiences() != null) {
             portfolio.getExperiences().forEach(experience -> {
                 if (experience.getId() == null || experience.getId().isEmpty()) {
-                    experience.setId(UUID.randomUUID().toString());
+                    experience.setId(ids.nextId());
                 }
             });
         }
@@ -258,7 +588,7 @@ public class PortfolioService {
         if (portfolio.getEducation() != null) {
             portfolio.getEducation().forEach(education -> {
                 if (education.getId() == null || education.getId().isEmpty()) {
-                    education.setId(UUID.randomUUID().toString());
+                    education.setId(ids.nextId());
                 }
             });
         }
@@ -266,7 +596,7 @@ public class PortfolioService {
         if (portfolio.getTravels() != null) {
             portfolio.getTravels().forEach(travel -> {
                 if (travel.getId() == null || travel.getId().isEmpty()) {
-                    travel.setId(UUID.randomUUID().toString());
+                    travel.setId(ids.nextId());
                 }
             });
         }
@@ -274,7 +604,7 @@ public class PortfolioService {
         if (portfolio.getHackathons() != null) {
             portfolio.getHackathons().forEach(hackathon -> {
                 if (hackathon.getId() == null || hackathon.getId().isEmpty()) {
-                    hackathon.setId(UUID.randomUUID().toString());
+                    hackathon.setId(ids.nextId());
                 }
             });
         }
@@ -0,0 +1,206 @@
+package com.utsingh.portfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.utsingh.portfolio.model.Portfolio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps serving whole-document reads from the last successful results while the backend is unreachable.
+ * Writes still go to the backend and fail, so the API degrades to read-only instead of failing outright.
+ * A read with no last known result rethrows the failure rather than answering "not found".
+ * Wraps the caching decorator, so only results that really came from the backend are ever cached.
+ */
+public class ReadOnlyFallbackPortfolioBackend extends DelegatingPortfolioBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadOnlyFallbackPortfolioBackend.class);
+
+    private final Cache<String, Portfolio> lastKnownById;
+    private final int maxEntries;
+    // Null until a listing is read, and whenever the last one was larger than maxEntries
+    private volatile List<Portfolio> lastKnownAll;
+
+    public ReadOnlyFallbackPortfolioBackend(PortfolioBackend delegate, int maxEntries) {
+        super(delegate);
+        this.maxEntries = maxEntries;
+        this.lastKnownById = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    @Override
+    public List<Portfolio> getAllPortfolios() {
+        return read("all portfolios", () -> {
+            List<Portfolio> portfolios = delegate.getAllPortfolios();
+            lastKnownAll = portfolios.size() <= maxEntries ? portfolios : null;
+            return portfolios;
+        }, () -> Optional.ofNullable(lastKnownAll));
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioById(String id) {
+        return read("portfolio " + id, () -> {
+            Optional<Portfolio> portfolio = delegate.getPortfolioById(id);
+            portfolio.ifPresentOrElse(this::remember, () -> lastKnownById.invalidate(id));
+            return portfolio;
+        }, () -> lastKnown(portfolio -> id.equals(portfolio.getId())).map(Optional::of));
+    }
+
+    @Override
+    public Optional<Portfolio> getPortfolioByName(String name) {
+        return read("portfolio " + name, () -> {
+            Optional<Portfolio> portfolio = delegate.getPortfolioByName(name);
+            portfolio.ifPresent(this::remember);
+            return portfolio;
+        }, () -> lastKnown(portfolio -> portfolio.getPersonalInfo() != null
+                && Objects.equals(name, portfolio.getPersonalInfo().getName())).map(Optional::of));
+    }
+
+    @Override
+    public Portfolio createPortfolio(Portfolio portfolio) {
+        return remember(delegate.createPortfolio(portfolio));
+    }
+
+    @Override
+    public Portfolio updatePortfolio(String id, Portfolio portfolio, Long expectedVersion) {
+        return remember(delegate.updatePortfolio(id, portfolio, expectedVersion));
+    }
+
+    @Override
+    public boolean deletePortfolio(String id, Long expectedVersion) {
+        boolean deleted = delegate.deletePortfolio(id, expectedVersion);
+        if (deleted) {
+            forget(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public Portfolio addProject(String portfolioId, Portfolio.Project project, boolean returnDocument) {
+        return written(portfolioId, delegate.addProject(portfolioId, project, returnDocument));
+    }
+
+    @Override
+    public Portfolio updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject, boolean returnDocument) {
+        return written(portfolioId, delegate.updateProject(portfolioId, projectId, updatedProject, returnDocument));
+    }
+
+    @Override
+    public Portfolio deleteProject(String portfolioId, String projectId, boolean returnDocument) {
+        return written(portfolioId, delegate.deleteProject(portfolioId, projectId, returnDocument));
+    }
+
+    @Override
+    public Portfolio addSkill(String portfolioId, Portfolio.Skill skill, boolean returnDocument) {
+        return written(portfolioId, delegate.addSkill(portfolioId, skill, returnDocument));
+    }
+
+    @Override
+    public Portfolio addAchievement(String portfolioId, Portfolio.Achievement achievement, boolean returnDocument) {
+        return written(portfolioId, delegate.addAchievement(portfolioId, achievement, returnDocument));
+    }
+
+    @Override
+    public Portfolio addExperience(String portfolioId, Portfolio.Experience experience, boolean returnDocument) {
+        return written(portfolioId, delegate.addExperience(portfolioId, experience, returnDocument));
+    }
+
+    @Override
+    public Portfolio addEducation(String portfolioId, Portfolio.Education education, boolean returnDocument) {
+        return written(portfolioId, delegate.addEducation(portfolioId, education, returnDocument));
+    }
+
+    @Override
+    public Portfolio addTravel(String portfolioId, Portfolio.Travel travel, boolean returnDocument) {
+        return written(portfolioId, delegate.addTravel(portfolioId, travel, returnDocument));
+    }
+
+    @Override
+    public Portfolio addHackathon(String portfolioId, Portfolio.Hackathon hackathon, boolean returnDocument) {
+        return written(portfolioId, delegate.addHackathon(portfolioId, hackathon, returnDocument));
+    }
+
+    /**
+     * Sub-document writes return no document under {@code return=minimal}; the stale copies are dropped instead,
+     * the whole listing included, since serving it without the portfolio would be wrong too
+     */
+    private Portfolio written(String portfolioId, Portfolio updated) {
+        if (updated != null) {
+            return remember(updated);
+        }
+        lastKnownById.invalidate(portfolioId);
+        lastKnownAll = null;
+        return null;
+    }
+
+    private Portfolio remember(Portfolio portfolio) {
+        if (portfolio != null && portfolio.getId() != null) {
+            lastKnownById.put(portfolio.getId(), portfolio);
+            List<Portfolio> all = lastKnownAll;
+            if (all != null) {
+                lastKnownAll = replaced(all, portfolio);
+            }
+        }
+        return portfolio;
+    }
+
+    private void forget(String id) {
+        lastKnownById.invalidate(id);
+        List<Portfolio> all = lastKnownAll;
+        if (all != null) {
+            lastKnownAll = all.stream().filter(portfolio -> !id.equals(portfolio.getId())).toList();
+        }
+    }
+
+    /**
+     * Listing with the portfolio's entry replaced, or appended when it is new; null once that exceeds maxEntries
+     */
+    private List<Portfolio> replaced(List<Portfolio> all, Portfolio portfolio) {
+        List<Portfolio> updated = new ArrayList<>(all.size() + 1);
+        boolean found = false;
+        for (Portfolio existing : all) {
+            if (portfolio.getId().equals(existing.getId())) {
+                updated.add(portfolio);
+                found = true;
+            } else {
+                updated.add(existing);
+            }
+        }
+        if (!found) {
+            updated.add(portfolio);
+        }
+        return updated.size() <= maxEntries ? List.copyOf(updated) : null;
+    }
+
+    private Optional<Portfolio> lastKnown(Predicate<Portfolio> matching) {
+        List<Portfolio> all = lastKnownAll;
+        Stream<Portfolio> candidates = Stream.concat(lastKnownById.asMap().values().stream(), all != null ? all.stream() : Stream.empty());
+        return candidates.filter(matching).findFirst();
+    }
+
+    /**
+     * Result of {@code read}, or the last known one while the backend is unreachable; the failure is rethrown when
+     * {@code fallback} has nothing to offer
+     */
+    private <T> T read(String what, Supplier<T> read, Supplier<Optional<T>> fallback) {
+        try {
+            return read.get();
+        } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+            Optional<T> lastKnown = fallback.get();
+            if (lastKnown.isEmpty()) {
+                throw e;
+            }
+            log.warn("Backend unavailable, serving last known {}: {}", what, e.getMessage());
+            return lastKnown.get();
+        }
+    }
+}
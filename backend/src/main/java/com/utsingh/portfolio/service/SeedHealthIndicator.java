@@ -0,0 +1,31 @@
+package com.utsingh.portfolio.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health contributor {@code seed}, part of the readiness group: out of service until the sample portfolio
+ * has reached the database once. Not part of liveness, so a slow database never gets the instance restarted.
+ */
+@Component
+@Profile("!heroku & !reactive")
+public class SeedHealthIndicator implements HealthIndicator {
+
+    private final DataInitializationService initialization;
+
+    public SeedHealthIndicator(DataInitializationService initialization) {
+        this.initialization = initialization;
+    }
+
+    @Override
+    public Health health() {
+        if (initialization.isSeeded()) {
+            return Health.up().build();
+        }
+        return initialization.getLastError()
+                .map(error -> Health.outOfService().withDetail("error", error).build())
+                .orElseGet(() -> Health.outOfService().build());
+    }
+}
@@ -0,0 +1,101 @@
+package com.utsingh.portfolio.service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Compact, time-ordered ids: 20 Crockford base32 characters encoding 100 bits, in ULID style.
+ * <pre>
+ *   48 bits  milliseconds since the epoch
+ *   20 bits  node, random per generator so instances do not collide
+ *   16 bits  sequence within the millisecond
+ *   16 bits  random, in case two instances drew the same node
+ * </pre>
+ * Ids sort lexicographically by creation time, so they double as cursors and carry their timestamp
+ * ({@link #timestampOf}). Millisecond and sequence advance together in one compare-and-set on a single long, so
+ * ids from a generator are strictly increasing and unique however many (virtual) threads share it.
+ * More than 65536 ids in one millisecond borrow the next millisecond rather than repeat.
+ */
+public final class SortableIdGenerator implements IdGenerator {
+
+    public static final int LENGTH = 20;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int HALF_LENGTH = LENGTH / 2;
+    private static final int SEQUENCE_BITS = 16;
+
+    private final LongSupplier clock;
+    private final int node;
+    // Last issued millisecond and sequence, packed as millis << 16 | sequence
+    private final AtomicLong last = new AtomicLong();
+
+    public SortableIdGenerator() {
+        this(System::currentTimeMillis, new SecureRandom().nextInt(1 << 20));
+    }
+
+    SortableIdGenerator(LongSupplier clock, int node) {
+        this.clock = clock;
+        this.node = node & 0xFFFFF;
+    }
+
+    @Override
+    public String nextId() {
+        long now = clock.getAsLong();
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            // Same millisecond, or the clock moved back: stay on the last millisecond to remain monotonic.
+            // A full sequence carries into the millisecond.
+            next = now > previous >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : previous + 1;
+        } while (!last.compareAndSet(previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & 0xFFFF;
+        // Two 50-bit halves of 10 characters each: time and the top of the node, then the rest
+        long high = millis << 2 | node >>> 18;
+        long low = (long) (node & 0x3FFFF) << 32 | sequence << 16 | ThreadLocalRandom.current().nextInt(1 << 16);
+        char[] id = new char[LENGTH];
+        encode(high, id, 0);
+        encode(low, id, HALF_LENGTH);
+        return new String(id);
+    }
+
+    /**
+     * Creation time of an id from this generator
+     *
+     * @throws IllegalArgumentException if the id was not produced by this generator
+     */
+    public static Instant timestampOf(String id) {
+        if (id == null || id.length() != LENGTH) {
+            throw new IllegalArgumentException("Not a sortable id: " + id);
+        }
+        long high = 0;
+        for (int i = 0; i < HALF_LENGTH; i++) {
+            int digit = indexOf(id.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a sortable id: " + id);
+            }
+            high = high << 5 | digit;
+        }
+        return Instant.ofEpochMilli(high >>> 2);
+    }
+
+    private static void encode(long value, char[] target, int offset) {
+        for (int i = HALF_LENGTH - 1; i >= 0; i--) {
+            target[offset + i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
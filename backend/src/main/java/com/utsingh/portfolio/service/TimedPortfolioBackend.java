@@ -0,0 +1,50 @@
+package com.utsingh.portfolio.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Times every {@link PortfolioBackend} call as {@code portfolio.service}, tagged by method and exception.
+ * Calls returning a {@link java.util.stream.Stream} are timed until the stream is open, not until it is drained.
+ */
+public final class TimedPortfolioBackend implements MethodInterceptor {
+
+    private static final String METRIC = "portfolio.service";
+
+    private final MeterRegistry registry;
+
+    private TimedPortfolioBackend(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static PortfolioBackend wrap(PortfolioBackend delegate, MeterRegistry registry) {
+        ProxyFactory proxyFactory = new ProxyFactory(delegate);
+        proxyFactory.setInterfaces(PortfolioBackend.class);
+        proxyFactory.addAdvice(new TimedPortfolioBackend(registry));
+        return (PortfolioBackend) proxyFactory.getProxy();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("PortfolioBackend call latency")
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+}
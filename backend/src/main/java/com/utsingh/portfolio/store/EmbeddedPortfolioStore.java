@@ -0,0 +1,431 @@
+package com.utsingh.portfolio.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.repository.PortfolioIndexCatalog;
+import com.utsingh.portfolio.repository.PortfolioIndexCatalog.IndexSpec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process portfolio storage for the heroku profile, standing in for MongoDB on small single-node deployments.
+ * <p>
+ * Each portfolio is held as an immutable version: the decoded document handed to readers, which must treat it as
+ * read-only, plus its compact binary (Smile) encoding. Reads are lock-free; writers are serialized and copy-on-write,
+ * decoding a private copy, changing it and publishing it as the next version. Every {@link PortfolioIndexCatalog}
+ * field has an in-memory lookup, so each {@code PortfolioRepository} finder is a map access here.
+ * <p>
+ * The encodings are written periodically to a memory-mapped snapshot file and mapped back in on startup.
+ */
+@Component
+@Profile("heroku")
+public class EmbeddedPortfolioStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedPortfolioStore.class);
+
+    private static final class Version {
+        final Portfolio portfolio;
+        final byte[] encoded;
+
+        Version(Portfolio portfolio, byte[] encoded) {
+            this.portfolio = portfolio;
+            this.encoded = encoded;
+        }
+    }
+
+    private final NavigableMap<String, Version> versions = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, Set<String>>> lookups = new LinkedHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long snapshotGeneration;
+    private final ObjectMapper codec;
+    private final Path snapshotPath;
+    private final Duration snapshotInterval;
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "portfolio-snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmbeddedPortfolioStore(ObjectMapper objectMapper,
+                                  @Value("${portfolio.embedded.snapshot-path:data/portfolio.snapshot}") Path snapshotPath,
+                                  @Value("${portfolio.embedded.snapshot-interval:30s}") Duration snapshotInterval) {
+        this.codec = objectMapper.copyWith(new SmileFactory());
+        this.snapshotPath = snapshotPath;
+        this.snapshotInterval = snapshotInterval;
+        PortfolioIndexCatalog.INDEXES.forEach(spec -> lookups.put(spec.getField(), new ConcurrentHashMap<>()));
+    }
+
+    @PostConstruct
+    void start() {
+        if (Files.exists(snapshotPath)) {
+            load();
+        }
+        if (!snapshotInterval.isZero()) {
+            long millis = snapshotInterval.toMillis();
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        snapshotter.shutdownNow();
+        snapshotQuietly();
+    }
+
+    public boolean isEmpty() {
+        return versions.isEmpty();
+    }
+
+    /**
+     * All portfolios in id order
+     */
+    public List<Portfolio> findAll() {
+        return versions.values().stream().map(version -> version.portfolio).collect(Collectors.toList());
+    }
+
+    public Optional<Portfolio> findById(String id) {
+        return Optional.ofNullable(versions.get(id)).map(version -> version.portfolio);
+    }
+
+    /**
+     * Portfolios whose {@link PortfolioIndexCatalog} field (e.g. {@code skills.name}) equals the value, in id order
+     */
+    public List<Portfolio> findBy(String field, String value) {
+        Map<String, Set<String>> lookup = lookups.get(field);
+        if (lookup == null) {
+            throw new IllegalArgumentException("No lookup on " + field);
+        }
+        Set<String> ids = lookup.getOrDefault(value, Set.of());
+        return ids.stream()
+                .sorted()
+                .map(versions::get)
+                .filter(Objects::nonNull)
+                .map(version -> version.portfolio)
+                // The lookup may briefly list an id whose new version no longer has the value
+                .filter(portfolio -> valuesOf(portfolio, field).contains(value))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<Portfolio> findFirstBy(String field, String value) {
+        return findBy(field, value).stream().findFirst();
+    }
+
+    public boolean existsBy(String field, String value) {
+        return !findBy(field, value).isEmpty();
+    }
+
+    /**
+     * Up to {@code limit} portfolios in id order after the given id
+     */
+    public List<Portfolio> findPage(String after, int limit) {
+        return stream(after).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Portfolios in id order after the given id, weakly consistent with concurrent writes
+     */
+    public Stream<Portfolio> stream(String after) {
+        NavigableMap<String, Version> range = after == null ? versions : versions.tailMap(after, false);
+        return range.values().stream().map(version -> version.portfolio);
+    }
+
+    /**
+     * Store a new portfolio at version 0, assigning an ObjectId-style id when it has none
+     *
+     * @throws DuplicateKeyException if the id or a unique field is taken
+     */
+    public Portfolio insert(Portfolio portfolio) {
+        return write(() -> {
+            String id = portfolio.getId() == null || portfolio.getId().isBlank() ? new ObjectId().toHexString() : portfolio.getId();
+            if (versions.containsKey(id)) {
+                throw new DuplicateKeyException("Portfolio " + id + " already exists");
+            }
+            Version next = copyOf(portfolio, copy -> {
+                copy.setId(id);
+                copy.setVersion(0L);
+            });
+            return publish(null, next);
+        });
+    }
+
+    /**
+     * Insert a batch under one acquisition of the write lock, like {@link #insert} for each; portfolios that fail
+     * do not stop the others.
+     *
+     * @return error message by position in {@code portfolios} for each portfolio that was not inserted
+     */
+    public Map<Integer, String> insertAll(List<Portfolio> portfolios) {
+        return write(() -> {
+            Map<Integer, String> failures = new LinkedHashMap<>();
+            for (int i = 0; i < portfolios.size(); i++) {
+                try {
+                    insert(portfolios.get(i));
+                } catch (DuplicateKeyException e) {
+                    failures.put(i, e.getMessage());
+                }
+            }
+            return failures;
+        });
+    }
+
+    /**
+     * Replace a portfolio, only while it is still at {@code expectedVersion} when one is given
+     *
+     * @throws OptimisticLockingFailureException if the stored version has moved or the portfolio is gone
+     */
+    public Portfolio replace(String id, Portfolio portfolio, Long expectedVersion) {
+        return write(() -> {
+            Version current = versions.get(id);
+            if (current == null) {
+                if (expectedVersion != null) {
+                    throw new OptimisticLockingFailureException("Portfolio " + id + " no longer exists");
+                }
+                Version next = copyOf(portfolio, copy -> {
+                    copy.setId(id);
+                    copy.setVersion(0L);
+                });
+                return publish(null, next);
+            }
+            checkVersion(id, current, expectedVersion);
+            Version next = copyOf(portfolio, copy -> {
+                copy.setId(id);
+                copy.setVersion(versionOf(current) + 1);
+            });
+            return publish(current, next);
+        });
+    }
+
+    /**
+     * Copy-on-write update of an existing portfolio; the mutation runs on a private copy
+     *
+     * @return the new version, or empty if there is no such portfolio
+     */
+    public Optional<Portfolio> update(String id, Consumer<Portfolio> mutation) {
+        return Optional.ofNullable(write(() -> {
+            Version current = versions.get(id);
+            if (current == null) {
+                return null;
+            }
+            Portfolio copy = decode(current.encoded);
+            mutation.accept(copy);
+            copy.setId(id);
+            copy.setVersion(versionOf(current) + 1);
+            return publish(current, new Version(copy, encode(copy)));
+        }));
+    }
+
+    /**
+     * Remove a portfolio, only while it is still at {@code expectedVersion} when one is given
+     *
+     * @throws OptimisticLockingFailureException if the stored version has moved
+     */
+    public boolean delete(String id, Long expectedVersion) {
+        return write(() -> {
+            Version current = versions.get(id);
+            if (current == null) {
+                return false;
+            }
+            checkVersion(id, current, expectedVersion);
+            versions.remove(id);
+            unindex(id, current.portfolio);
+            generation.incrementAndGet();
+            return true;
+        });
+    }
+
+    /**
+     * Write a snapshot now if anything changed since the last one
+     */
+    public void snapshot() throws IOException {
+        long stamp = generation.get();
+        if (stamp == snapshotGeneration) {
+            return;
+        }
+        List<byte[]> records = versions.values().stream().map(version -> version.encoded).collect(Collectors.toList());
+        long started = System.nanoTime();
+        SnapshotFile.write(snapshotPath, records);
+        snapshotGeneration = stamp;
+        log.debug("Wrote {} portfolios to {} in {} ms", records.size(), snapshotPath,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to write portfolio snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        try {
+            List<ByteBuffer> records = SnapshotFile.read(snapshotPath);
+            write(() -> {
+                for (ByteBuffer record : records) {
+                    // Parsed straight from the mapping; the encoding is kept on-heap for the next snapshot
+                    Portfolio portfolio = decode(record.duplicate());
+                    byte[] encoded = new byte[record.remaining()];
+                    record.get(encoded);
+                    versions.put(portfolio.getId(), new Version(portfolio, encoded));
+                    index(portfolio.getId(), portfolio);
+                }
+                return null;
+            });
+            snapshotGeneration = generation.get();
+            log.info("Loaded {} portfolios from {} in {} ms", records.size(), snapshotPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable portfolio snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private <T> T write(Supplier<T> operation) {
+        writeLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Make {@code next} the current version; runs under the write lock
+     */
+    private Portfolio publish(Version current, Version next) {
+        String id = next.portfolio.getId();
+        checkUnique(id, next.portfolio);
+        versions.put(id, next);
+        if (current != null) {
+            unindex(id, current.portfolio);
+        }
+        index(id, next.portfolio);
+        generation.incrementAndGet();
+        return next.portfolio;
+    }
+
+    private void checkUnique(String id, Portfolio portfolio) {
+        for (IndexSpec spec : PortfolioIndexCatalog.INDEXES) {
+            if (!spec.isUnique()) {
+                continue;
+            }
+            for (String value : valuesOf(portfolio, spec.getField())) {
+                Set<String> holders = lookups.get(spec.getField()).getOrDefault(value, Set.of());
+                if (holders.stream().anyMatch(holder -> !holder.equals(id))) {
+                    throw new DuplicateKeyException("Duplicate " + spec.getField() + ": " + value);
+                }
+            }
+        }
+    }
+
+    private void index(String id, Portfolio portfolio) {
+        lookups.forEach((field, lookup) -> valuesOf(portfolio, field)
+                .forEach(value -> lookup.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(id)));
+    }
+
+    private void unindex(String id, Portfolio portfolio) {
+        lookups.forEach((field, lookup) -> valuesOf(portfolio, field).forEach(value -> lookup.computeIfPresent(value, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        })));
+    }
+
+    private static void checkVersion(String id, Version current, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != versionOf(current)) {
+            throw new OptimisticLockingFailureException("Portfolio " + id + " is no longer at version " + expectedVersion);
+        }
+    }
+
+    private static long versionOf(Version version) {
+        return version.portfolio.getVersion() != null ? version.portfolio.getVersion() : 0L;
+    }
+
+    /**
+     * Values of a dotted path such as {@code personalInfo.email} or {@code projects.category}, through embedded lists
+     */
+    static Set<String> valuesOf(Portfolio portfolio, String path) {
+        Set<String> values = new HashSet<>();
+        collect(portfolio, path.split("\\."), 0, values);
+        return values;
+    }
+
+    private static void collect(Object target, String[] segments, int depth, Collection<String> values) {
+        if (target == null) {
+            return;
+        }
+        if (target instanceof Collection<?> elements) {
+            elements.forEach(element -> collect(element, segments, depth, values));
+            return;
+        }
+        if (depth == segments.length) {
+            values.add(String.valueOf(target));
+            return;
+        }
+        collect(new BeanWrapperImpl(target).getPropertyValue(segments[depth]), segments, depth + 1, values);
+    }
+
+    private Version copyOf(Portfolio portfolio, Consumer<Portfolio> adjust) {
+        Portfolio copy = decode(encode(portfolio));
+        adjust.accept(copy);
+        return new Version(copy, encode(copy));
+    }
+
+    private byte[] encode(Portfolio portfolio) {
+        try {
+            return codec.writeValueAsBytes(portfolio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Portfolio decode(byte[] encoded) {
+        return decode(ByteBuffer.wrap(encoded));
+    }
+
+    private Portfolio decode(ByteBuffer encoded) {
+        try {
+            return codec.readValue(new ByteBufferBackedInputStream(encoded), Portfolio.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.utsingh.portfolio.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Length-prefixed records in one memory-mapped file:
+ * {@code magic, format, count, crc32 of the body} followed by {@code (length, bytes)} per record.
+ * Written to a temporary file and moved into place, so a reader never sees a partial snapshot.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x50465331; // "PFS1"
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES;
+
+    private SnapshotFile() {
+    }
+
+    static void write(Path path, Collection<byte[]> records) throws IOException {
+        long bodySize = 0;
+        for (byte[] record : records) {
+            bodySize += Integer.BYTES + record.length;
+        }
+        if (HEADER_SIZE + bodySize > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + bodySize + " bytes exceeds a single mapping");
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + bodySize);
+                buffer.position(HEADER_SIZE);
+                for (byte[] record : records) {
+                    buffer.putInt(record.length).put(record);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(buffer.duplicate().position(HEADER_SIZE));
+                buffer.putInt(0, MAGIC).putInt(4, FORMAT).putInt(8, records.size()).putLong(12, crc.getValue());
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Records as read-only views into the mapping; nothing is copied until a record is decoded
+     */
+    static List<ByteBuffer> read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a portfolio snapshot: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            throw new IOException("Not a portfolio snapshot: " + path);
+        }
+        int count = buffer.getInt(8);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE));
+        if (crc.getValue() != buffer.getLong(12)) {
+            throw new IOException("Checksum mismatch in snapshot " + path);
+        }
+        List<ByteBuffer> records = new ArrayList<>(count);
+        int position = HEADER_SIZE;
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (length < 0 || position + length > buffer.limit()) {
+                throw new IOException("Truncated record " + i + " in snapshot " + path);
+            }
+            records.add(buffer.slice(position, length).asReadOnlyBuffer());
+            position += length;
+        }
+        return records;
+    }
+}
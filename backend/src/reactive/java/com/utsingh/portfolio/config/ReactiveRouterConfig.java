@@ -0,0 +1,79 @@
+package com.utsingh.portfolio.config;
+
+import com.utsingh.portfolio.controller.ReactivePortfolioHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Functional routes for the reactive profile. The annotated {@code PortfolioController} is servlet-only,
+ * so the same paths are declared here against {@link ReactivePortfolioHandler}.
+ */
+@Configuration
+@Profile("reactive & !heroku")
+public class ReactiveRouterConfig {
+    
+    @Value("${spring.profiles.active:default}")
+    private String activeProfile;
+    
+    @Bean
+    public RouterFunction<ServerResponse> portfolioRoutes(ReactivePortfolioHandler handler) {
+        return route().path("/portfolio", builder -> builder
+                .GET("/health", handler::healthCheck)
+                .GET("/search", handler::search)
+                .GET("/suggest", handler::suggest)
+                .GET("/exists/{email}", handler::existsByEmail)
+                .GET("/name/{name}", handler::getPortfolioByName)
+                .GET("/{id}", handler::getPortfolioById)
+                .GET("", handler::getAllPortfolios)
+                .POST("", handler::createPortfolio)
+                .PUT("/{id}", handler::updatePortfolio)
+                .DELETE("/{id}", handler::deletePortfolio)
+                .PUT("/{portfolioId}/projects/{projectId}", handler::updateProject)
+                .DELETE("/{portfolioId}/projects/{projectId}", handler::deleteProject)
+                .POST("/{portfolioId}/{section}", handler::addItem))
+                .build();
+    }
+    
+    /**
+     * Tomcat is on the classpath for the servlet stack and would otherwise be picked for WebFlux as well;
+     * Netty serves requests from a small set of event-loop threads instead
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    /**
+     * Same origins as {@link WebConfig}, which only applies to Spring MVC
+     */
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        if (activeProfile.contains("production")) {
+            configuration.setAllowedOrigins(List.of(
+                "https://utsingh.netlify.app",
+                "https://portfolio-backend-uttam-60b57a60be26.herokuapp.com"
+            ));
+        } else {
+            configuration.setAllowedOriginPatterns(List.of("*"));
+        }
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(false);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return new CorsWebFilter(source);
+    }
+}
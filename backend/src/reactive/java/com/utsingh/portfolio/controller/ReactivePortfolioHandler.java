@@ -0,0 +1,244 @@
+package com.utsingh.portfolio.controller;
+
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry;
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry.VersionTag;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.model.SearchHit;
+import com.utsingh.portfolio.search.PortfolioSearchIndex;
+import com.utsingh.portfolio.search.SuggestionField;
+import com.utsingh.portfolio.search.SuggestionIndex;
+import com.utsingh.portfolio.service.ReactivePortfolioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WebFlux handlers for the {@code /portfolio} routes under the reactive profile, mirroring {@link PortfolioController}
+ */
+@Component
+@Profile("reactive & !heroku")
+public class ReactivePortfolioHandler {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    @Autowired
+    private ReactivePortfolioService portfolioService;
+    
+    @Autowired
+    private PortfolioVersionRegistry versionRegistry;
+    
+    @Autowired
+    private PortfolioSearchIndex searchIndex;
+    
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    
+    /**
+     * Get all portfolios, as a JSON array or streamed as NDJSON when asked for
+     */
+    public Mono<ServerResponse> getAllPortfolios(ServerRequest request) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(portfolioService.getAllPortfolios(), Portfolio.class);
+    }
+    
+    /**
+     * Get portfolio by ID
+     */
+    public Mono<ServerResponse> getPortfolioById(ServerRequest request) {
+        long stamp = versionRegistry.currentGeneration();
+        return portfolioService.getPortfolioById(request.pathVariable("id"))
+                .flatMap(portfolio -> withVersion(request, portfolio, stamp))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+    
+    /**
+     * Get portfolio by name
+     */
+    public Mono<ServerResponse> getPortfolioByName(ServerRequest request) {
+        long stamp = versionRegistry.currentGeneration();
+        return portfolioService.getPortfolioByName(request.pathVariable("name"))
+                .flatMap(portfolio -> withVersion(request, portfolio, stamp))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+    
+    /**
+     * Create new portfolio
+     */
+    public Mono<ServerResponse> createPortfolio(ServerRequest request) {
+        return request.bodyToMono(Portfolio.class)
+                .flatMap(portfolioService::createPortfolio)
+                .flatMap(created -> ServerResponse.status(HttpStatus.CREATED).bodyValue(created))
+                .onErrorResume(e -> ServerResponse.badRequest().build());
+    }
+    
+    /**
+     * Update existing portfolio, honouring If-Match against the current ETag
+     */
+    public Mono<ServerResponse> updatePortfolio(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return expectedVersion(request, id)
+                .flatMap(expected -> request.bodyToMono(Portfolio.class)
+                        .flatMap(portfolio -> portfolioService.updatePortfolio(id, portfolio, expected.orElse(null)))
+                        .flatMap(updated -> ServerResponse.ok().bodyValue(updated))
+                        .switchIfEmpty(ServerResponse.notFound().build()))
+                .switchIfEmpty(ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> ServerResponse.status(HttpStatus.CONFLICT).build())
+                .onErrorResume(e -> ServerResponse.badRequest().build());
+    }
+    
+    /**
+     * Delete portfolio by ID, honouring If-Match against the current ETag
+     */
+    public Mono<ServerResponse> deletePortfolio(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return expectedVersion(request, id)
+                .flatMap(expected -> portfolioService.deletePortfolio(id, expected.orElse(null)))
+                .flatMap(deleted -> deleted ? ServerResponse.noContent().build() : ServerResponse.notFound().build())
+                .switchIfEmpty(ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> ServerResponse.status(HttpStatus.CONFLICT).build())
+                .onErrorResume(e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+    
+    /**
+     * Add an item to any section, e.g. POST /portfolio/{portfolioId}/projects
+     */
+    public Mono<ServerResponse> addItem(ServerRequest request) {
+        Optional<PortfolioSection> section = PortfolioSection.fromPath(request.pathVariable("section"));
+        if (section.isEmpty()) {
+            return ServerResponse.notFound().build();
+        }
+        return request.bodyToMono(section.get().getItemType())
+                .flatMap(item -> portfolioService.addItem(request.pathVariable("portfolioId"), section.get(), item))
+                .flatMap(updated -> updated(request, updated))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(e -> ServerResponse.badRequest().build());
+    }
+    
+    /**
+     * Update project in portfolio
+     */
+    public Mono<ServerResponse> updateProject(ServerRequest request) {
+        return request.bodyToMono(Portfolio.Project.class)
+                .flatMap(project -> portfolioService.updateProject(request.pathVariable("portfolioId"), request.pathVariable("projectId"), project))
+                .flatMap(updated -> updated(request, updated))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(e -> ServerResponse.badRequest().build());
+    }
+    
+    /**
+     * Delete project from portfolio
+     */
+    public Mono<ServerResponse> deleteProject(ServerRequest request) {
+        return portfolioService.deleteProject(request.pathVariable("portfolioId"), request.pathVariable("projectId"))
+                .flatMap(updated -> updated(request, updated))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+    
+    /**
+     * Check if portfolio exists by email
+     */
+    public Mono<ServerResponse> existsByEmail(ServerRequest request) {
+        return portfolioService.existsByEmail(request.pathVariable("email"))
+                .flatMap(exists -> ServerResponse.ok().bodyValue(exists))
+                .onErrorResume(e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+    
+    /**
+     * Ranked full-text search, answered from memory
+     */
+    public Mono<ServerResponse> search(ServerRequest request) {
+        Optional<String> query = request.queryParam("q").filter(q -> !q.isBlank());
+        int limit = intParam(request, "limit", 20);
+        if (query.isEmpty() || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ServerResponse.badRequest().build();
+        }
+        List<SearchHit> hits = searchIndex.search(query.get(), limit);
+        return ServerResponse.ok().bodyValue(hits);
+    }
+    
+    /**
+     * Autocomplete for technologies, skills, companies and institutions
+     */
+    public Mono<ServerResponse> suggest(ServerRequest request) {
+        Optional<SuggestionField> field = request.queryParam("field").flatMap(SuggestionField::fromParameter);
+        int limit = intParam(request, "limit", 10);
+        if (field.isEmpty() || limit < 1 || limit > suggestionIndex.getTopK()) {
+            return ServerResponse.badRequest().build();
+        }
+        return ServerResponse.ok().bodyValue(suggestionIndex.suggest(field.get(), request.queryParam("prefix").orElse(""), limit));
+    }
+    
+    /**
+     * Health check endpoint
+     */
+    public Mono<ServerResponse> healthCheck(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("Portfolio API is running successfully!");
+    }
+    
+    private Mono<ServerResponse> withVersion(ServerRequest request, Portfolio portfolio, long stamp) {
+        return tagFor(portfolio, stamp).flatMap(tag -> request.checkNotModified(tag.getEtag())
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                        .eTag(tag.getEtag())
+                        .lastModified(tag.getLastModified())
+                        .cacheControl(CacheControl.noCache())
+                        .bodyValue(portfolio))));
+    }
+    
+    /**
+     * Tag for the loaded document; serializing and hashing a version seen for the first time runs off the event loop
+     */
+    private Mono<VersionTag> tagFor(Portfolio portfolio, long stamp) {
+        return versionRegistry.findCurrent(portfolio)
+                .map(Mono::just)
+                .orElseGet(() -> Mono.fromCallable(() -> versionRegistry.tagFor(portfolio, stamp))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+    
+    /**
+     * Version an If-Match header pins the write to; empty when the header names a stale version. A document stored
+     * before versioning counts as version 0.
+     */
+    private Mono<Optional<Long>> expectedVersion(ServerRequest request, String id) {
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return Mono.just(Optional.empty());
+        }
+        long stamp = versionRegistry.currentGeneration();
+        Mono<VersionTag> current = Mono.justOrEmpty(versionRegistry.findById(id))
+                .switchIfEmpty(portfolioService.getPortfolioById(id).flatMap(portfolio -> tagFor(portfolio, stamp)));
+        return current.filter(tag -> PortfolioVersionRegistry.matches(ifMatch, tag))
+                .map(tag -> Optional.of(tag.getVersion() != null ? tag.getVersion() : 0L));
+    }
+    
+    private static Mono<ServerResponse> updated(ServerRequest request, Portfolio portfolio) {
+        String prefer = request.headers().firstHeader("Prefer");
+        if (prefer != null && prefer.replace(" ", "").toLowerCase().contains("return=minimal")) {
+            return ServerResponse.noContent().header("Preference-Applied", "return=minimal").build();
+        }
+        return ServerResponse.ok().bodyValue(portfolio);
+    }
+    
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
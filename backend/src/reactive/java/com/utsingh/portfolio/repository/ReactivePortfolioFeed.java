@@ -0,0 +1,61 @@
+package com.utsingh.portfolio.repository;
+
+import com.utsingh.portfolio.model.Portfolio;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link PortfolioFeed} over the reactive driver, so the reactive stack needs no blocking {@code MongoClient}.
+ * Blocks the calling thread, which is always one of the background builders and never the event loop.
+ */
+@Component
+@Profile("reactive & !heroku")
+public class ReactivePortfolioFeed implements PortfolioFeed {
+
+    private static final String EMAIL_FIELD = "personalInfo.email";
+    private static final int EMAIL_BATCH_SIZE = 1000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactivePortfolioRepository portfolioRepository;
+
+    public ReactivePortfolioFeed(ReactiveMongoTemplate mongoTemplate, ReactivePortfolioRepository portfolioRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.portfolioRepository = portfolioRepository;
+    }
+
+    @Override
+    public long count() {
+        Long count = portfolioRepository.count().block();
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public Optional<Portfolio> findById(String id) {
+        return portfolioRepository.findById(id).blockOptional();
+    }
+
+    @Override
+    public Stream<String> streamEmails() {
+        // Same covered scan of the sparse email index as the blocking repository
+        BasicQuery query = new BasicQuery(new Document(EMAIL_FIELD, new Document("$exists", true)),
+                new Document("_id", 0).append(EMAIL_FIELD, 1));
+        return mongoTemplate.find(query.cursorBatchSize(EMAIL_BATCH_SIZE), Document.class, "portfolio")
+                .mapNotNull(document -> document.get("personalInfo", Document.class))
+                .mapNotNull(personalInfo -> personalInfo.get("email"))
+                .ofType(String.class)
+                .toStream(EMAIL_BATCH_SIZE);
+    }
+
+    @Override
+    public Stream<Portfolio> streamPortfolios(Criteria criteria, String after, int batchSize) {
+        return mongoTemplate.find(PortfolioRepositoryCustomImpl.keyset(criteria, after).cursorBatchSize(batchSize), Portfolio.class)
+                .toStream(batchSize);
+    }
+}
@@ -0,0 +1,69 @@
+package com.utsingh.portfolio.repository;
+
+import com.utsingh.portfolio.model.Portfolio;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link PortfolioRepository}, used by the reactive profile
+ */
+@Repository
+public interface ReactivePortfolioRepository extends ReactiveMongoRepository<Portfolio, String> {
+    
+    /**
+     * Find portfolio by personal info name
+     */
+    @Query("{'personalInfo.name': ?0}")
+    Mono<Portfolio> findByPersonalInfoName(String name);
+    
+    /**
+     * Find portfolios by project category
+     */
+    @Query("{'projects.category': ?0}")
+    Flux<Portfolio> findByProjectCategory(String category);
+    
+    /**
+     * Find portfolios by skill name
+     */
+    @Query("{'skills.name': ?0}")
+    Flux<Portfolio> findBySkillName(String skillName);
+    
+    /**
+     * Find portfolios by achievement category
+     */
+    @Query("{'achievements.category': ?0}")
+    Flux<Portfolio> findByAchievementCategory(String category);
+    
+    /**
+     * Find portfolios by experience company
+     */
+    @Query("{'experiences.company': ?0}")
+    Flux<Portfolio> findByExperienceCompany(String company);
+    
+    /**
+     * Find portfolios by education institution
+     */
+    @Query("{'education.institution': ?0}")
+    Flux<Portfolio> findByEducationInstitution(String institution);
+    
+    /**
+     * Find portfolios by travel destination
+     */
+    @Query("{'travels.destination': ?0}")
+    Flux<Portfolio> findByTravelDestination(String destination);
+    
+    /**
+     * Find portfolios by hackathon name
+     */
+    @Query("{'hackathons.name': ?0}")
+    Flux<Portfolio> findByHackathonName(String hackathonName);
+    
+    /**
+     * Check if portfolio exists by personal info email, as a limit-1 probe covered by the email index
+     */
+    @Query(value = "{'personalInfo.email': ?0}", fields = "{'_id': 0, 'personalInfo.email': 1}", exists = true)
+    Mono<Boolean> existsByPersonalInfoEmail(String email);
+}
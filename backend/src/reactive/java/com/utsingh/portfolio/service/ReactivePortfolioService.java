@@ -0,0 +1,180 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.cache.KnownEmailFilter;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.model.PortfolioSection;
+import com.utsingh.portfolio.repository.ReactivePortfolioRepository;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+
+/**
+ * Non-blocking equivalent of {@link PortfolioService} for the reactive profile. Writes publish the same
+ * {@link PortfolioChangedEvent}s, so the shared caches and derived indexes stay current. Listeners hash and index the
+ * written document synchronously, so events are published off the event loop.
+ * An empty {@link Mono} means the portfolio was not found.
+ */
+@Service
+@Profile("reactive & !heroku")
+public class ReactivePortfolioService {
+    
+    @Autowired
+    private ReactivePortfolioRepository portfolioRepository;
+    
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private KnownEmailFilter knownEmails;
+    
+    @Autowired
+    private IdGenerator idGenerator;
+    
+    /**
+     * Get all portfolios
+     */
+    public Flux<Portfolio> getAllPortfolios() {
+        return portfolioRepository.findAll();
+    }
+    
+    /**
+     * Get portfolio by ID
+     */
+    public Mono<Portfolio> getPortfolioById(String id) {
+        return portfolioRepository.findById(id);
+    }
+    
+    /**
+     * Get portfolio by name
+     */
+    public Mono<Portfolio> getPortfolioByName(String name) {
+        return portfolioRepository.findByPersonalInfoName(name);
+    }
+    
+    /**
+     * Create new portfolio
+     */
+    public Mono<Portfolio> createPortfolio(Portfolio portfolio) {
+        PortfolioService.generateIdsForNestedObjects(portfolio, idGenerator);
+        portfolio.setVersion(null);
+        return portfolioRepository.save(portfolio).publishOn(Schedulers.boundedElastic()).doOnNext(this::publishSaved);
+    }
+    
+    /**
+     * Replace the portfolio, only while it is still at the expected version when one is given
+     */
+    public Mono<Portfolio> updatePortfolio(String id, Portfolio portfolio, Long expectedVersion) {
+        portfolio.setId(id);
+        PortfolioService.generateIdsForNestedObjects(portfolio, idGenerator);
+        Mono<Long> version = expectedVersion != null ? Mono.just(expectedVersion)
+                : portfolio.getVersion() != null ? Mono.just(portfolio.getVersion())
+                : portfolioRepository.findById(id).map(stored -> stored.getVersion() != null ? stored.getVersion() : 0L);
+        return version.flatMap(current -> {
+            portfolio.setVersion(current);
+            Mono<?> versioned = current == 0 ? initializeVersion(id) : Mono.empty();
+            return versioned.then(Mono.defer(() -> portfolioRepository.save(portfolio)));
+        }).publishOn(Schedulers.boundedElastic()).doOnNext(this::publishSaved);
+    }
+    
+    /**
+     * Give a document stored before versioning its version field, so a conditional save at version 0 can match it
+     */
+    private Mono<?> initializeVersion(String id) {
+        // is(null) matches both a missing and an explicit null version
+        Query unversioned = Query.query(Criteria.where("id").is(id).and("version").is(null));
+        return mongoTemplate.updateFirst(unversioned, Update.update("version", 0L), Portfolio.class);
+    }
+    
+    /**
+     * Delete portfolio by ID; errors with {@link OptimisticLockingFailureException} if it moved past the expected version
+     */
+    public Mono<Boolean> deletePortfolio(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            // A document stored before versioning has no version field and counts as version 0
+            criteria = expectedVersion == 0 ? criteria.and("version").in(0L, null) : criteria.and("version").is(expectedVersion);
+        }
+        return mongoTemplate.remove(Query.query(criteria), Portfolio.class)
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(result -> {
+                    if (result.getDeletedCount() > 0) {
+                        eventPublisher.publishEvent(PortfolioChangedEvent.deleted(id));
+                        return Mono.just(true);
+                    }
+                    if (expectedVersion == null) {
+                        return Mono.just(false);
+                    }
+                    return portfolioRepository.existsById(id).flatMap(exists -> exists
+                            ? Mono.error(new OptimisticLockingFailureException("Portfolio " + id + " is no longer at version " + expectedVersion))
+                            : Mono.just(false));
+                });
+    }
+    
+    /**
+     * Append an item to one of the portfolio's sections, assigning its id if missing
+     */
+    public Mono<Portfolio> addItem(String portfolioId, PortfolioSection section, Object item) {
+        BeanWrapper wrapper = new BeanWrapperImpl(item);
+        Object itemId = wrapper.getPropertyValue("id");
+        if (itemId == null || itemId.toString().isEmpty()) {
+            wrapper.setPropertyValue("id", idGenerator.nextId());
+        }
+        Update update = new Update().push(section.getField(), item);
+        return applyUpdate(Query.query(Criteria.where("id").is(portfolioId)), update);
+    }
+    
+    /**
+     * Update project in portfolio; empty when the portfolio or project does not exist
+     */
+    public Mono<Portfolio> updateProject(String portfolioId, String projectId, Portfolio.Project updatedProject) {
+        updatedProject.setId(projectId);
+        String field = PortfolioSection.PROJECTS.getField();
+        Query query = Query.query(Criteria.where("id").is(portfolioId).and(field + ".id").is(projectId));
+        return applyUpdate(query, new Update().set(field + ".$", updatedProject));
+    }
+    
+    /**
+     * Delete project from portfolio
+     */
+    public Mono<Portfolio> deleteProject(String portfolioId, String projectId) {
+        Update update = new Update().pull(PortfolioSection.PROJECTS.getField(), Query.query(Criteria.where("id").is(projectId)));
+        return applyUpdate(Query.query(Criteria.where("id").is(portfolioId)), update);
+    }
+    
+    /**
+     * Check if portfolio exists by email
+     */
+    public Mono<Boolean> existsByEmail(String email) {
+        if (!knownEmails.mightContain(email)) {
+            return Mono.just(false);
+        }
+        return portfolioRepository.existsByPersonalInfoEmail(email);
+    }
+    
+    private Mono<Portfolio> applyUpdate(Query query, Update update) {
+        update.inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Portfolio.class)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(this::publishSaved);
+    }
+    
+    private void publishSaved(Portfolio portfolio) {
+        eventPublisher.publishEvent(PortfolioChangedEvent.saved(portfolio));
+    }
+}
@@ -0,0 +1,85 @@
+package com.utsingh.portfolio.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.cache.EncodedPortfolioCache.EncodedPortfolio;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedPortfolioCacheTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final EncodedPortfolioCache cache = new EncodedPortfolioCache(objectMapper, 1 << 20);
+
+	@AfterEach
+	void shutdown() {
+		cache.shutdown();
+	}
+
+	@Test
+	void encodesEachWrittenVersionAsJsonAndGzip() throws Exception {
+		Portfolio portfolio = portfolio("p1", "Uttam Singh");
+		byte[] json = objectMapper.writeValueAsBytes(portfolio);
+		String etag = PortfolioVersionRegistry.etagOf(json);
+
+		cache.onPortfolioChanged(PortfolioChangedEvent.saved(portfolio));
+		EncodedPortfolio encoded = await("p1", etag);
+
+		assertArrayEquals(json, read(new ByteBufferResource(encoded.getJson()).getInputStream()));
+		assertArrayEquals(json, read(new GZIPInputStream(new ByteBufferResource(encoded.getGzip()).getInputStream())));
+		assertEquals(json.length, new ByteBufferResource(encoded.getJson()).contentLength());
+		assertTrue(encoded.getJson().isDirect());
+	}
+
+	@Test
+	void neverServesAnEncodingOfAnotherVersion() throws Exception {
+		Portfolio original = portfolio("p1", "Old Name");
+		String originalEtag = PortfolioVersionRegistry.etagOf(objectMapper.writeValueAsBytes(original));
+		cache.prime(original, originalEtag);
+		await("p1", originalEtag);
+
+		cache.onPortfolioChanged(PortfolioChangedEvent.modified("p1"));
+		assertTrue(cache.find("p1", originalEtag).isEmpty());
+
+		Portfolio renamed = portfolio("p1", "New Name");
+		cache.prime(renamed, originalEtag);
+		Thread.sleep(100);
+		assertTrue(cache.find("p1", originalEtag).isEmpty());
+	}
+
+	private EncodedPortfolio await(String id, String etag) throws InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			Optional<EncodedPortfolio> encoded = cache.find(id, etag);
+			if (encoded.isPresent()) {
+				return encoded.get();
+			}
+			Thread.sleep(10);
+		}
+		throw new AssertionError("Portfolio " + id + " was not encoded");
+	}
+
+	private static byte[] read(InputStream input) throws IOException {
+		try (input) {
+			return input.readAllBytes();
+		}
+	}
+
+	private static Portfolio portfolio(String id, String name) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		Portfolio.PersonalInfo personalInfo = new Portfolio.PersonalInfo();
+		personalInfo.setName(name);
+		portfolio.setPersonalInfo(personalInfo);
+		return portfolio;
+	}
+}
@@ -0,0 +1,57 @@
+package com.utsingh.portfolio.cache;
+
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PortfolioSnapshotCacheTests {
+
+	private final PortfolioSnapshotCache cache = new PortfolioSnapshotCache(1 << 20);
+
+	@Test
+	void servesRepeatedReadsFromCache() {
+		AtomicInteger loads = new AtomicInteger();
+		Portfolio portfolio = portfolio("p1", "Uttam Singh");
+
+		cache.getById("p1", () -> { loads.incrementAndGet(); return Optional.of(portfolio); });
+		Optional<Portfolio> second = cache.getById("p1", () -> { loads.incrementAndGet(); return Optional.of(portfolio); });
+		Optional<Portfolio> byName = cache.getByName("Uttam Singh", () -> { loads.incrementAndGet(); return Optional.empty(); });
+
+		assertEquals(1, loads.get());
+		assertEquals(portfolio, second.orElseThrow());
+		assertEquals(portfolio, byName.orElseThrow());
+	}
+
+	@Test
+	void handsOutCopiesThatCannotChangeTheCachedSnapshot() {
+		Portfolio loaded = portfolio("p1", "Uttam Singh");
+		cache.getById("p1", () -> Optional.of(loaded));
+		loaded.getPersonalInfo().setName("Changed by the loader's caller");
+
+		Portfolio first = cache.getById("p1", Optional::empty).orElseThrow();
+		first.getPersonalInfo().setName("Changed by a reader");
+		first.setProjects(List.of());
+		Portfolio second = cache.getById("p1", Optional::empty).orElseThrow();
+
+		assertNotSame(first, second);
+		assertEquals("Uttam Singh", second.getPersonalInfo().getName());
+		assertNull(second.getProjects());
+	}
+
+	private static Portfolio portfolio(String id, String name) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		Portfolio.PersonalInfo personalInfo = new Portfolio.PersonalInfo();
+		personalInfo.setName(name);
+		portfolio.setPersonalInfo(personalInfo);
+		return portfolio;
+	}
+}
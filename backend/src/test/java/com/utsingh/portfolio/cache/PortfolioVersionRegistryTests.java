@@ -0,0 +1,96 @@
+package com.utsingh.portfolio.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry.VersionTag;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortfolioVersionRegistryTests {
+
+	private final AtomicInteger serializations = new AtomicInteger();
+	private final PortfolioVersionRegistry registry = new PortfolioVersionRegistry(new ObjectMapper() {
+		@Override
+		public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+			serializations.incrementAndGet();
+			return super.writeValueAsBytes(value);
+		}
+	});
+
+	@Test
+	void hashesEachVersionOnce() {
+		Portfolio stored = portfolio("p1", 3L, "Uttam Singh");
+		registry.onPortfolioChanged(PortfolioChangedEvent.saved(stored));
+		assertEquals(1, serializations.get());
+
+		long stamp = registry.currentGeneration();
+		VersionTag first = registry.tagFor(portfolio("p1", 3L, "Uttam Singh"), stamp);
+		VersionTag second = registry.tagFor(portfolio("p1", 3L, "Uttam Singh"), stamp);
+
+		assertSame(first, second);
+		assertSame(first, registry.findById("p1").orElseThrow());
+		assertEquals(1, serializations.get());
+	}
+
+	@Test
+	void tagsAVersionLoadedAfterAnUntaggedWrite() {
+		registry.onPortfolioChanged(PortfolioChangedEvent.saved(portfolio("p1", 3L, "Uttam Singh")));
+		VersionTag before = registry.findById("p1").orElseThrow();
+		registry.onPortfolioChanged(PortfolioChangedEvent.modified("p1"));
+
+		long stamp = registry.currentGeneration();
+		VersionTag after = registry.tagFor(portfolio("p1", 4L, "Renamed"), stamp);
+
+		assertNotEquals(before.getEtag(), after.getEtag());
+		assertSame(after, registry.tagFor(portfolio("p1", 4L, "Renamed"), stamp));
+		assertEquals(2, serializations.get());
+	}
+
+	@Test
+	void keepsTheListingTagUntilTheNextChange() {
+		List<Portfolio> portfolios = List.of(portfolio("p1", 0L, "One"), portfolio("p2", 0L, "Two"));
+		long stamp = registry.currentGeneration();
+		VersionTag listing = registry.tagForAll(portfolios, stamp);
+		int hashed = serializations.get();
+
+		assertSame(listing, registry.tagForAll(portfolios, stamp));
+		assertSame(listing, registry.findForAll().orElseThrow());
+		assertEquals(hashed, serializations.get());
+
+		registry.onPortfolioChanged(PortfolioChangedEvent.deleted("p2"));
+		assertTrue(registry.findForAll().isEmpty());
+	}
+
+	@Test
+	void matchesIfMatchWithTheStrongComparison() {
+		VersionTag tag = new VersionTag("\"abc\"", Instant.EPOCH, 1L);
+
+		assertTrue(PortfolioVersionRegistry.matches("\"abc\"", tag));
+		assertTrue(PortfolioVersionRegistry.matches("\"other\", \"abc\"", tag));
+		assertTrue(PortfolioVersionRegistry.matches("*", tag));
+		assertTrue(PortfolioVersionRegistry.matches("\"abc-gz\"", tag));
+		assertFalse(PortfolioVersionRegistry.matches("W/\"abc\"", tag));
+		assertFalse(PortfolioVersionRegistry.matches("\"other\"", tag));
+	}
+
+	private static Portfolio portfolio(String id, Long version, String name) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		portfolio.setVersion(version);
+		Portfolio.PersonalInfo personalInfo = new Portfolio.PersonalInfo();
+		personalInfo.setName(name);
+		portfolio.setPersonalInfo(personalInfo);
+		return portfolio;
+	}
+}
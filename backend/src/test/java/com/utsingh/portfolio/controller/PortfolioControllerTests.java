@@ -0,0 +1,132 @@
+package com.utsingh.portfolio.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.cache.EncodedPortfolioCache;
+import com.utsingh.portfolio.cache.PortfolioVersionRegistry;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.service.PortfolioBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PortfolioControllerTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final PortfolioBackend backend = mock(PortfolioBackend.class);
+	private final PortfolioVersionRegistry versionRegistry = new PortfolioVersionRegistry(objectMapper);
+	private final EncodedPortfolioCache encodedCache = new EncodedPortfolioCache(objectMapper, 1 << 20);
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void wire() {
+		PortfolioController controller = new PortfolioController();
+		ReflectionTestUtils.setField(controller, "backend", backend);
+		ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(controller, "versionRegistry", versionRegistry);
+		ReflectionTestUtils.setField(controller, "encodedCache", encodedCache);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@AfterEach
+	void shutdown() {
+		encodedCache.shutdown();
+	}
+
+	@Test
+	void acceptsTheGzipVariantTagInIfMatch() throws Exception {
+		Portfolio stored = portfolio("p1", 2L);
+		when(backend.getPortfolioById("p1")).thenReturn(Optional.of(stored));
+		when(backend.updatePortfolio(eq("p1"), any(), eq(2L))).thenReturn(stored);
+
+		String etag = mockMvc.perform(get("/portfolio/p1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		awaitEncoded("p1", etag);
+
+		String gzipEtag = PortfolioVersionRegistry.gzipEtag(etag);
+		mockMvc.perform(get("/portfolio/p1").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().stringValues(HttpHeaders.ETAG, gzipEtag));
+
+		mockMvc.perform(get("/portfolio/p1").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, gzipEtag));
+
+		mockMvc.perform(put("/portfolio/p1").header(HttpHeaders.IF_MATCH, gzipEtag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(stored)))
+				.andExpect(status().isOk());
+		verify(backend).updatePortfolio(eq("p1"), any(), eq(2L));
+	}
+
+	@Test
+	void rejectsIfMatchOfAnotherVersion() throws Exception {
+		when(backend.getPortfolioById("p1")).thenReturn(Optional.of(portfolio("p1", 2L)));
+
+		mockMvc.perform(put("/portfolio/p1").header(HttpHeaders.IF_MATCH, "\"stale-gz\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(portfolio("p1", 1L))))
+				.andExpect(status().isPreconditionFailed());
+		verify(backend, never()).updatePortfolio(any(), any(), any());
+	}
+
+	@Test
+	void pinsAnUnversionedDocumentToVersionZero() throws Exception {
+		Portfolio legacy = portfolio("p1", null);
+		when(backend.getPortfolioById("p1")).thenReturn(Optional.of(legacy));
+		when(backend.updatePortfolio(eq("p1"), any(), eq(0L))).thenReturn(legacy);
+		when(backend.deletePortfolio("p1", 0L)).thenReturn(true);
+
+		String etag = mockMvc.perform(get("/portfolio/p1"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(put("/portfolio/p1").header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsBytes(legacy)))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/portfolio/p1").header(HttpHeaders.IF_MATCH, "*"))
+				.andExpect(status().isNoContent());
+		verify(backend).updatePortfolio(eq("p1"), any(), eq(0L));
+		verify(backend).deletePortfolio("p1", 0L);
+	}
+
+	private void awaitEncoded(String id, String etag) throws InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			if (encodedCache.find(id, etag).isPresent()) {
+				return;
+			}
+			Thread.sleep(10);
+		}
+		throw new AssertionError("Portfolio " + id + " was not encoded");
+	}
+
+	private static Portfolio portfolio(String id, Long version) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		portfolio.setVersion(version);
+		Portfolio.PersonalInfo personalInfo = new Portfolio.PersonalInfo();
+		personalInfo.setName("Uttam Singh");
+		portfolio.setPersonalInfo(personalInfo);
+		return portfolio;
+	}
+}
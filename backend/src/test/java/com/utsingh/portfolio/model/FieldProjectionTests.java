@@ -0,0 +1,43 @@
+package com.utsingh.portfolio.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldProjectionTests {
+
+	@Test
+	void mapsNestedIdsToStoredNamesAndDropsCoveredChildren() {
+		FieldProjection projection = FieldProjection.parse("projects.id, projects.title,personalInfo,personalInfo.name");
+
+		assertEquals(Set.of("personalInfo", "projects.id", "projects.title"), projection.getPaths());
+		assertEquals(Set.of("personalInfo", "projects._id", "projects.title"), projection.getStoredPaths());
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThrows(IllegalArgumentException.class, () -> FieldProjection.parse("projects.nope"));
+		assertThrows(IllegalArgumentException.class, () -> FieldProjection.parse("additionalData."));
+		assertEquals(Set.of("additionalData.theme"), FieldProjection.parse("additionalData.theme").getPaths());
+	}
+
+	@Test
+	void prunesMaterializedDocuments() {
+		Map<String, Object> document = Map.of(
+				"id", "p1",
+				"personalInfo", Map.of("name", "Uttam", "email", "u@example.com"),
+				"projects", List.of(Map.of("title", "A", "category", "Web"), Map.of("title", "B", "category", "Data")));
+
+		Map<String, Object> projected = FieldProjection.parse("personalInfo.name,projects.title").applyTo(document);
+
+		assertEquals(Map.of(
+				"id", "p1",
+				"personalInfo", Map.of("name", "Uttam"),
+				"projects", List.of(Map.of("title", "A"), Map.of("title", "B"))), projected);
+	}
+}
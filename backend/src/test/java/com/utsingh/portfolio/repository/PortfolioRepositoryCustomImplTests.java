@@ -0,0 +1,139 @@
+package com.utsingh.portfolio.repository;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.utsingh.portfolio.model.Portfolio;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PortfolioRepositoryCustomImplTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final PortfolioRepositoryCustomImpl repository = new PortfolioRepositoryCustomImpl(mongoTemplate);
+
+	@Test
+	void keepsPagingIntoObjectIdsAfterAStringCursor() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		when(mongoTemplate.find(query.capture(), eq(Portfolio.class))).thenReturn(List.of());
+
+		repository.findPage(null, "legacy-id", 10);
+
+		Document filter = query.getValue().getQueryObject();
+		assertEquals(List.of(new Document("_id", new Document("$gt", "legacy-id")), new Document("_id", new Document("$type", 7))),
+				filter.get("$or"));
+		assertEquals(new Document("_id", 1), query.getValue().getSortObject());
+	}
+
+	@Test
+	void boundsEveryFieldFinderToAKeysetPage() {
+		PortfolioRepository finders = mock(PortfolioRepository.class, CALLS_REAL_METHODS);
+		when(finders.findPage(any(), any(), anyInt()))
+				.thenAnswer(invocation -> repository.findPage(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		when(mongoTemplate.find(query.capture(), eq(Portfolio.class))).thenReturn(List.of());
+		ObjectId after = new ObjectId();
+
+		finders.findBySkillName("Java", after.toHexString(), 20);
+
+		assertEquals(new Document("skills.name", "Java").append("_id", new Document("$gt", after)), query.getValue().getQueryObject());
+		assertEquals(20, query.getValue().getLimit());
+	}
+
+	@Test
+	void pagesObjectIdsWithAPlainRangeAfterAnObjectIdCursor() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		when(mongoTemplate.find(query.capture(), eq(Portfolio.class))).thenReturn(List.of());
+		ObjectId after = new ObjectId();
+
+		repository.findPage(null, after.toHexString(), 10);
+
+		assertEquals(new Document("_id", new Document("$gt", after)), query.getValue().getQueryObject());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void resumesAnExportAfterAStringIdWithoutSkippingObjectIds() {
+		MongoCollection<Document> collection = mock(MongoCollection.class);
+		FindIterable<Document> found = mock(FindIterable.class);
+		when(mongoTemplate.getCollection("portfolio")).thenReturn(collection);
+		when(collection.find(any(Bson.class))).thenReturn(found);
+		when(found.sort(any())).thenReturn(found);
+		when(found.batchSize(anyInt())).thenReturn(found);
+		when(found.iterator()).thenReturn(mock(MongoCursor.class));
+
+		repository.streamRawPortfolios("legacy-id", 100).close();
+
+		ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+		verify(collection).find(filter.capture());
+		assertEquals(List.of(new Document("_id", new Document("$gt", "legacy-id")), new Document("_id", new Document("$type", 7))),
+				((Document) filter.getValue()).get("$or"));
+	}
+
+	@Test
+	void initializesAnExplicitNullVersionOnce() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("portfolio")))
+				.thenReturn(new Document("_id", "p1").append("version", null));
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("portfolio")))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		assertEquals(Optional.of(0L), repository.findVersionById("p1"));
+		verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq("portfolio"));
+	}
+
+	@Test
+	void readsTheVersionAConcurrentWriteSetInsteadOfRecursing() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("portfolio")))
+				.thenReturn(new Document("_id", "p1").append("version", null))
+				.thenReturn(new Document("_id", "p1").append("version", 4L));
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("portfolio")))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+		assertEquals(Optional.of(4L), repository.findVersionById("p1"));
+	}
+
+	@Test
+	void reportsAPortfolioDeletedMeanwhileAsMissing() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("portfolio")))
+				.thenReturn(new Document("_id", "p1"))
+				.thenReturn(null);
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("portfolio")))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+		assertTrue(repository.findVersionById("p1").isEmpty());
+	}
+
+	@Test
+	void deletesAnUnversionedDocumentAtVersionZero() {
+		when(mongoTemplate.remove(any(Query.class), eq(Portfolio.class))).thenReturn(DeleteResult.acknowledged(1));
+
+		assertTrue(repository.deleteByIdAndVersion("p1", 0));
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).remove(query.capture(), eq(Portfolio.class));
+		// Matches a missing version field too
+		assertEquals(new Document("$in", Arrays.asList(0L, null)), query.getValue().getQueryObject().get("version"));
+	}
+}
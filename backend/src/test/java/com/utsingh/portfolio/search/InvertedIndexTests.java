@@ -0,0 +1,49 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.search.InvertedIndex.Field;
+import com.utsingh.portfolio.search.InvertedIndex.Hit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTests {
+
+	private final InvertedIndex<String> index = new InvertedIndex<>();
+
+	@Test
+	void ranksWeightedAndRarerTermsHigher() {
+		index.put("a", "a", List.of(new Field("Portfolio Website", 3), new Field("Built with React and Spring Boot", 1)));
+		index.put("b", "b", List.of(new Field("E-Commerce Platform", 3), new Field("React storefront with payments", 1)));
+		index.put("c", "c", List.of(new Field("React Native App", 3), new Field("Mobile client", 1)));
+
+		List<Hit<String>> hits = index.search("spring react", 10);
+
+		assertEquals(3, hits.size());
+		assertEquals("a", hits.get(0).getValue());
+		assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+	}
+
+	@Test
+	void replacesAndRemovesDocumentsIncludingAfterCompaction() {
+		for (int i = 0; i < 100; i++) {
+			index.put("doc" + i, "v" + i, List.of(new Field("kotlin service " + i, 1)));
+		}
+		index.put("doc0", "updated", List.of(new Field("scala service", 1)));
+		for (int i = 1; i < 90; i++) {
+			index.remove("doc" + i);
+		}
+
+		assertEquals(11, index.size());
+		assertEquals("updated", index.search("scala", 5).get(0).getValue());
+		assertEquals(10, index.search("kotlin", 50).size());
+		assertTrue(index.search("c++", 5).isEmpty());
+	}
+
+	@Test
+	void keepsSymbolsInLanguageNames() {
+		assertEquals(List.of("c++", "c#", "node", "js"), InvertedIndex.tokenize("C++, C# and Node.js"));
+	}
+}
@@ -0,0 +1,77 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.model.Portfolio;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillProjectGraphTests {
+
+	private final SkillProjectGraph graph = new SkillProjectGraph();
+
+	@Test
+	void linksSkillsToProjectsByIdAndByTechnologyName() {
+		Portfolio.Project api = project("api", "Spring Boot", "MongoDB");
+		Portfolio.Project ui = project("ui", "react");
+		Portfolio.Project docs = project("docs");
+		Portfolio.Skill java = skill("java", "Java", "api");
+		Portfolio.Skill react = skill("react", " React ");
+		Portfolio.Skill mongo = skill("mongo", "mongodb", "docs");
+		graph.replace("p1", portfolio(List.of(api, ui, docs), List.of(java, react, mongo)));
+
+		assertEquals(Optional.of(List.of(api)), graph.projectsOfSkill("p1", "java"));
+		assertEquals(Optional.of(List.of(ui)), graph.projectsOfSkill("p1", "react"));
+		assertEquals(Optional.of(List.of(api, docs)), graph.projectsOfSkill("p1", "mongo"));
+		assertEquals(Optional.of(List.of(java, mongo)), graph.skillsOfProject("p1", "api"));
+		assertEquals(Optional.of(List.of(mongo)), graph.skillsOfProject("p1", "docs"));
+	}
+
+	@Test
+	void answersEmptyForUnknownIdsAndKnownItemsWithoutLinks() {
+		Portfolio.Project lonely = project("lonely");
+		graph.replace("p1", portfolio(List.of(lonely), List.of(skill("go", "Go", "missing-project"))));
+
+		assertEquals(Optional.of(List.of()), graph.projectsOfSkill("p1", "go"));
+		assertEquals(Optional.of(List.of()), graph.skillsOfProject("p1", "lonely"));
+		assertTrue(graph.projectsOfSkill("p1", "unknown").isEmpty());
+		assertTrue(graph.skillsOfProject("p2", "lonely").isEmpty());
+	}
+
+	@Test
+	void rebuildsOnReplaceAndForgetsDeletedPortfolios() {
+		Portfolio.Project api = project("api", "Java");
+		graph.replace("p1", portfolio(List.of(api), List.of(skill("java", "Java"))));
+		graph.replace("p1", portfolio(List.of(project("api", "Kotlin")), List.of(skill("java", "Java"))));
+
+		assertEquals(Optional.of(List.of()), graph.projectsOfSkill("p1", "java"));
+
+		graph.replace("p1", null);
+		assertTrue(graph.projectsOfSkill("p1", "java").isEmpty());
+	}
+
+	private static Portfolio portfolio(List<Portfolio.Project> projects, List<Portfolio.Skill> skills) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setProjects(projects);
+		portfolio.setSkills(skills);
+		return portfolio;
+	}
+
+	private static Portfolio.Project project(String id, String... technologies) {
+		Portfolio.Project project = new Portfolio.Project();
+		project.setId(id);
+		project.setTechnologies(List.of(technologies));
+		return project;
+	}
+
+	private static Portfolio.Skill skill(String id, String name, String... projectIds) {
+		Portfolio.Skill skill = new Portfolio.Skill();
+		skill.setId(id);
+		skill.setName(name);
+		skill.setProjects(List.of(projectIds));
+		return skill;
+	}
+}
@@ -0,0 +1,41 @@
+package com.utsingh.portfolio.search;
+
+import com.utsingh.portfolio.search.SuggestionTrie.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTests {
+
+	private final SuggestionTrie trie = new SuggestionTrie(2);
+
+	@Test
+	void returnsMostFrequentTermsForPrefixIgnoringCase() {
+		trie.add("React", 3);
+		trie.add("Redux", 1);
+		trie.add("react native", 2);
+		trie.add("Rust", 5);
+
+		assertEquals(List.of(new Suggestion("Rust", 5), new Suggestion("React", 3)), trie.suggest("r", 10));
+		assertEquals(List.of(new Suggestion("React", 3), new Suggestion("react native", 2)), trie.suggest("RE", 10));
+		assertEquals(List.of(new Suggestion("Redux", 1)), trie.suggest("red", 10));
+	}
+
+	@Test
+	void reranksAndPrunesWhenWeightsDrop() {
+		trie.add("Java", 2);
+		trie.add("JavaScript", 1);
+		trie.add("Jest", 1);
+
+		trie.add("Java", -2);
+
+		assertEquals(List.of(new Suggestion("JavaScript", 1), new Suggestion("Jest", 1)), trie.suggest("j", 10));
+		assertEquals(List.of(new Suggestion("JavaScript", 1)), trie.suggest("java", 10));
+		trie.add("JavaScript", -1);
+		assertTrue(trie.suggest("java", 10).isEmpty());
+		assertEquals(1, trie.size());
+	}
+}
@@ -0,0 +1,186 @@
+package com.utsingh.portfolio.service;
+
+import com.utsingh.portfolio.config.PortfolioBackendConfig;
+import com.utsingh.portfolio.model.Portfolio;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PortfolioBackendDecoratorTests {
+
+	@Test
+	void coalescesConcurrentReadsIntoOneLoad() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Portfolio stored = portfolio("a");
+		PortfolioBackend storage = new DelegatingPortfolioBackend(null) {
+			@Override
+			public Optional<Portfolio> getPortfolioById(String id) {
+				loads.incrementAndGet();
+				await(release);
+				return Optional.of(stored);
+			}
+		};
+		PortfolioBackend backend = new CoalescingPortfolioBackend(storage, () -> 0L);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Optional<Portfolio>>> reads = List.of(
+					executor.submit(() -> backend.getPortfolioById("a")),
+					executor.submit(() -> backend.getPortfolioById("a")),
+					executor.submit(() -> backend.getPortfolioById("a")),
+					executor.submit(() -> backend.getPortfolioById("a")));
+			while (loads.get() == 0) {
+				Thread.onSpinWait();
+			}
+			Thread.sleep(50);
+			release.countDown();
+			for (Future<Optional<Portfolio>> read : reads) {
+				assertSame(stored, read.get(5, TimeUnit.SECONDS).orElseThrow());
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void doesNotJoinALoadStartedBeforeAWrite() {
+		AtomicLong generation = new AtomicLong();
+		AtomicInteger loads = new AtomicInteger();
+		PortfolioBackend storage = new DelegatingPortfolioBackend(null) {
+			@Override
+			public List<Portfolio> getAllPortfolios() {
+				loads.incrementAndGet();
+				return List.of();
+			}
+		};
+		PortfolioBackend backend = new CoalescingPortfolioBackend(storage, generation::get);
+		backend.getAllPortfolios();
+		generation.incrementAndGet();
+		backend.getAllPortfolios();
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void servesLastKnownReadsWhileTheBackendIsDown() {
+		AtomicBoolean down = new AtomicBoolean();
+		Portfolio stored = portfolio("a");
+		PortfolioBackend storage = new DelegatingPortfolioBackend(null) {
+			@Override
+			public Optional<Portfolio> getPortfolioById(String id) {
+				if (down.get()) {
+					throw new DataAccessResourceFailureException("unreachable");
+				}
+				return Optional.of(stored);
+			}
+
+			@Override
+			public boolean deletePortfolio(String id, Long expectedVersion) {
+				if (down.get()) {
+					throw new DataAccessResourceFailureException("unreachable");
+				}
+				return true;
+			}
+		};
+		PortfolioBackend backend = new ReadOnlyFallbackPortfolioBackend(storage, 10);
+		backend.getPortfolioById("a");
+		down.set(true);
+		assertSame(stored, backend.getPortfolioById("a").orElseThrow());
+		// Never read before: the outage surfaces instead of a "not found"
+		assertThrows(DataAccessResourceFailureException.class, () -> backend.getPortfolioById("b"));
+		assertThrows(DataAccessResourceFailureException.class, () -> backend.deletePortfolio("a", null));
+	}
+
+	@Test
+	void keepsLastKnownCopiesCurrentAcrossSubDocumentWrites() {
+		AtomicBoolean down = new AtomicBoolean();
+		Portfolio stored = portfolio("a");
+		Portfolio withProject = portfolio("a");
+		withProject.setProjects(List.of(new Portfolio.Project()));
+		PortfolioBackend storage = new DelegatingPortfolioBackend(null) {
+			@Override
+			public List<Portfolio> getAllPortfolios() {
+				if (down.get()) {
+					throw new DataAccessResourceFailureException("unreachable");
+				}
+				return List.of(stored);
+			}
+
+			@Override
+			public Optional<Portfolio> getPortfolioById(String id) {
+				if (down.get()) {
+					throw new DataAccessResourceFailureException("unreachable");
+				}
+				return Optional.of(stored);
+			}
+
+			@Override
+			public Portfolio addProject(String portfolioId, Portfolio.Project project, boolean returnDocument) {
+				return returnDocument ? withProject : null;
+			}
+		};
+		PortfolioBackend backend = new ReadOnlyFallbackPortfolioBackend(storage, 10);
+		backend.getAllPortfolios();
+		backend.getPortfolioById("a");
+		backend.addProject("a", new Portfolio.Project(), true);
+		down.set(true);
+		assertSame(withProject, backend.getPortfolioById("a").orElseThrow());
+		assertEquals(List.of(withProject), backend.getAllPortfolios());
+		// return=minimal leaves nothing to refresh them with, so the copies are dropped
+		backend.addProject("a", new Portfolio.Project(), false);
+		assertThrows(DataAccessResourceFailureException.class, () -> backend.getPortfolioById("a"));
+		assertThrows(DataAccessResourceFailureException.class, backend::getAllPortfolios);
+	}
+
+	@Test
+	void keepsNoListingLargerThanItsBound() {
+		AtomicBoolean down = new AtomicBoolean();
+		PortfolioBackend storage = new DelegatingPortfolioBackend(null) {
+			@Override
+			public List<Portfolio> getAllPortfolios() {
+				if (down.get()) {
+					throw new DataAccessResourceFailureException("unreachable");
+				}
+				return List.of(portfolio("a"), portfolio("b"));
+			}
+		};
+		PortfolioBackend backend = new ReadOnlyFallbackPortfolioBackend(storage, 1);
+		backend.getAllPortfolios();
+		down.set(true);
+		assertThrows(DataAccessResourceFailureException.class, backend::getAllPortfolios);
+	}
+
+	@Test
+	void rejectsAFallbackInsideTheCache() {
+		assertThrows(IllegalArgumentException.class, () -> new PortfolioBackendConfig().portfolioBackend(
+				null, List.of("metrics", "caching", "read-only-fallback"), null, 10, null, null));
+	}
+
+	private static Portfolio portfolio(String id) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		return portfolio;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.utsingh.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.model.ImportSummary;
+import com.utsingh.portfolio.model.Portfolio;
+import com.utsingh.portfolio.repository.PortfolioRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PortfolioServiceTests {
+
+	private final PortfolioRepository repository = mock(PortfolioRepository.class);
+	private final List<PortfolioChangedEvent> events = new ArrayList<>();
+	private final PortfolioService service = new PortfolioService();
+
+	@BeforeEach
+	void wire() {
+		ReflectionTestUtils.setField(service, "portfolioRepository", repository);
+		ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> events.add((PortfolioChangedEvent) event));
+		ReflectionTestUtils.setField(service, "idGenerator", (IdGenerator) () -> "generated");
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "importBatchSize", 2);
+	}
+
+	@Test
+	void importsInBatchesAndPublishesEachInsertedPortfolio() throws Exception {
+		List<List<String>> batches = new ArrayList<>();
+		when(repository.insertAll(any())).thenAnswer(invocation -> {
+			List<Portfolio> batch = invocation.getArgument(0);
+			batches.add(batch.stream().map(portfolio -> portfolio.getPersonalInfo().getEmail()).toList());
+			// The second record of the second batch hits the unique email index
+			return batches.size() == 2 ? Map.of(1, "E11000 duplicate key") : Map.of();
+		});
+		String body = Stream.of("a", "b", "c", "d", "e")
+				.map(name -> "{\"personalInfo\":{\"email\":\"" + name + "@example.com\"},\"projects\":[{\"title\":\"x\"}]}")
+				.collect(Collectors.joining("\n"));
+
+		ImportSummary summary = service.importPortfolios(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(List.of(List.of("a@example.com", "b@example.com"), List.of("c@example.com", "d@example.com"),
+				List.of("e@example.com")), batches);
+		assertEquals(5, summary.getReceived());
+		assertEquals(4, summary.getInserted());
+		assertEquals(1, summary.getFailed());
+		assertEquals("failed", summary.getResults().get(3).getStatus());
+		assertEquals(List.of(0, 1, 2, 3, 4), summary.getResults().stream().map(ImportSummary.Result::getIndex).toList());
+		assertEquals(4, events.size());
+		events.forEach(event -> {
+			assertEquals(event.getPortfolioId(), event.getPortfolio().getId());
+			assertEquals(0L, event.getPortfolio().getVersion());
+			assertEquals("generated", event.getPortfolio().getProjects().get(0).getId());
+		});
+		assertTrue(events.stream().noneMatch(event -> event.getPortfolio().getPersonalInfo().getEmail().equals("d@example.com")));
+	}
+
+	@Test
+	void reportsUnbindableRecordsAndStopsAtAMalformedPayload() throws Exception {
+		when(repository.insertAll(any())).thenReturn(Map.of());
+		String body = "[{\"id\":\"keep\"},{\"projects\":\"not a list\"},{\"id\":\"also-kept\"},{\"id\":";
+
+		ImportSummary summary = service.importPortfolios(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertFalse(summary.isComplete());
+		assertEquals(2, summary.getInserted());
+		assertEquals(1, summary.getFailed());
+		assertEquals("failed", summary.getResults().get(1).getStatus());
+		assertEquals(List.of("keep", "also-kept"), events.stream().map(PortfolioChangedEvent::getPortfolioId).toList());
+	}
+
+	@Test
+	void addsAnItemWithOneAtomicPushThatBumpsTheVersion() {
+		Portfolio stored = portfolio("p1");
+		when(repository.updateAndGetPortfolio(any(), any())).thenReturn(Optional.of(stored));
+
+		Portfolio.Project project = new Portfolio.Project();
+		assertSame(stored, service.addProject("p1", project, true));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(repository).updateAndGetPortfolio(query.capture(), update.capture());
+		verify(repository, never()).save(any());
+		assertEquals("p1", query.getValue().getQueryObject().get("id"));
+		Document operations = update.getValue().getUpdateObject();
+		assertSame(project, operations.get("$push", Document.class).get("projects"));
+		assertEquals(1, operations.get("$inc", Document.class).get("version"));
+		assertEquals("generated", project.getId());
+		assertSame(stored, events.get(0).getPortfolio());
+	}
+
+	@Test
+	void skipsTheReadBackWhenTheDocumentIsNotRequested() {
+		when(repository.updatePortfolio(any(), any())).thenReturn(true);
+
+		assertNull(service.addSkill("p1", new Portfolio.Skill(), false));
+
+		verify(repository, never()).updateAndGetPortfolio(any(), any());
+		assertEquals("p1", events.get(0).getPortfolioId());
+		assertNull(events.get(0).getPortfolio());
+	}
+
+	@Test
+	void replacesAProjectInPlaceWithAPositionalSet() {
+		Portfolio stored = portfolio("p1");
+		when(repository.updateAndGetPortfolio(any(), any())).thenReturn(Optional.of(stored));
+
+		Portfolio.Project project = new Portfolio.Project();
+		service.updateProject("p1", "proj-1", project, true);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(repository).updateAndGetPortfolio(query.capture(), update.capture());
+		assertEquals("proj-1", query.getValue().getQueryObject().get("projects.id"));
+		assertSame(project, update.getValue().getUpdateObject().get("$set", Document.class).get("projects.$"));
+		assertEquals("proj-1", project.getId());
+	}
+
+	@Test
+	void removesAProjectWithAPullByItsId() {
+		when(repository.updatePortfolio(any(), any())).thenReturn(true);
+
+		service.deleteProject("p1", "proj-1", false);
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(repository).updatePortfolio(any(), update.capture());
+		Document pull = update.getValue().getUpdateObject().get("$pull", Document.class);
+		assertEquals("proj-1", ((Query) pull.get("projects")).getQueryObject().get("id"));
+	}
+
+	@Test
+	void tellsAMissingProjectFromAMissingPortfolio() {
+		when(repository.updateAndGetPortfolio(any(), any())).thenReturn(Optional.empty());
+		when(repository.existsById("p1")).thenReturn(true);
+
+		RuntimeException missingProject = assertThrows(RuntimeException.class,
+				() -> service.updateProject("p1", "proj-1", new Portfolio.Project(), true));
+		RuntimeException missingPortfolio = assertThrows(RuntimeException.class,
+				() -> service.addProject("p2", new Portfolio.Project(), true));
+
+		assertTrue(missingProject.getMessage().startsWith("Project not found"));
+		assertTrue(missingPortfolio.getMessage().startsWith("Portfolio not found"));
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	void versionsAnUnversionedDocumentBeforeSavingItAtVersionZero() {
+		when(repository.findVersionById("p1")).thenReturn(Optional.of(0L));
+		when(repository.save(any(Portfolio.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		Portfolio saved = service.updatePortfolio("p1", portfolio("p1"), 0L);
+
+		verify(repository).findVersionById("p1");
+		assertEquals(0L, saved.getVersion());
+	}
+
+	private static Portfolio portfolio(String id) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		return portfolio;
+	}
+}
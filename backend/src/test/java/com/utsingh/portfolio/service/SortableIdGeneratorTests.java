@@ -0,0 +1,87 @@
+package com.utsingh.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortableIdGeneratorTests {
+
+	@Test
+	void increasesWithinAMillisecondAndAcrossClockSteps() {
+		AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+		SortableIdGenerator generator = new SortableIdGenerator(clock::get, 42);
+		String previous = generator.nextId();
+		for (int i = 0; i < 200_000; i++) {
+			if (i % 50_000 == 0) {
+				clock.addAndGet(i % 100_000 == 0 ? 1 : -5);
+			}
+			String next = generator.nextId();
+			assertEquals(SortableIdGenerator.LENGTH, next.length());
+			assertTrue(next.compareTo(previous) > 0, previous + " before " + next);
+			previous = next;
+		}
+	}
+
+	@Test
+	void isUniqueAcrossThreads() throws Exception {
+		SortableIdGenerator generator = new SortableIdGenerator();
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				workers.add(executor.submit(() -> {
+					for (int i = 0; i < 50_000; i++) {
+						ids.add(generator.nextId());
+					}
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(8 * 50_000, ids.size());
+	}
+
+	@Test
+	void carriesAFullSequenceIntoTheNextMillisecond() {
+		// A frozen clock puts every id in the same millisecond unless the sequence carries into the next one
+		long now = 1_700_000_000_000L;
+		SortableIdGenerator generator = new SortableIdGenerator(() -> now, 42);
+		Set<String> ids = new HashSet<>();
+		String previous = generator.nextId();
+		ids.add(previous);
+		for (int i = 1; i < 70_000; i++) {
+			String next = generator.nextId();
+			assertTrue(next.compareTo(previous) > 0, previous + " before " + next);
+			ids.add(next);
+			previous = next;
+		}
+		assertEquals(70_000, ids.size());
+		assertEquals(Instant.ofEpochMilli(now + 1), SortableIdGenerator.timestampOf(previous));
+	}
+
+	@Test
+	void carriesItsCreationTime() {
+		long now = 1_700_000_123_456L;
+		String id = new SortableIdGenerator(() -> now, 7).nextId();
+		assertEquals(Instant.ofEpochMilli(now), SortableIdGenerator.timestampOf(id));
+		assertThrows(IllegalArgumentException.class, () -> SortableIdGenerator.timestampOf("not-an-id"));
+	}
+}
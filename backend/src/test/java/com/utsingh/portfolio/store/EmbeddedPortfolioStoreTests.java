@@ -0,0 +1,113 @@
+package com.utsingh.portfolio.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsingh.portfolio.model.Portfolio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddedPortfolioStoreTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedPortfolioStore store(Path snapshot) {
+		EmbeddedPortfolioStore store = new EmbeddedPortfolioStore(new ObjectMapper(), snapshot, Duration.ZERO);
+		store.start();
+		return store;
+	}
+
+	private static Portfolio portfolio(String id, String email, String... skills) {
+		Portfolio portfolio = new Portfolio();
+		portfolio.setId(id);
+		Portfolio.PersonalInfo personalInfo = new Portfolio.PersonalInfo();
+		personalInfo.setName("Name " + id);
+		personalInfo.setEmail(email);
+		portfolio.setPersonalInfo(personalInfo);
+		List<Portfolio.Skill> items = new ArrayList<>();
+		for (String name : skills) {
+			Portfolio.Skill skill = new Portfolio.Skill();
+			skill.setName(name);
+			items.add(skill);
+		}
+		portfolio.setSkills(items);
+		return portfolio;
+	}
+
+	@Test
+	void insertsABatchAndReportsEachDuplicate() {
+		EmbeddedPortfolioStore store = store(directory.resolve("portfolio.snapshot"));
+		store.insert(portfolio("a", "a@example.com"));
+
+		Map<Integer, String> failures = store.insertAll(List.of(
+				portfolio("b", "b@example.com"),
+				portfolio("a", "other@example.com"),
+				portfolio("c", "b@example.com"),
+				portfolio("d", "d@example.com")));
+
+		assertEquals(Set.of(1, 2), failures.keySet());
+		assertEquals(List.of("a", "b", "d"), store.findAll().stream().map(Portfolio::getId).toList());
+		assertEquals(0L, store.findById("d").orElseThrow().getVersion());
+	}
+
+	@Test
+	void looksUpByEveryIndexedFieldAndKeepsLookupsCurrent() {
+		EmbeddedPortfolioStore store = store(directory.resolve("portfolio.snapshot"));
+		store.insert(portfolio("a", "a@example.com", "Java", "React"));
+		store.insert(portfolio("b", "b@example.com", "Java"));
+
+		assertEquals(List.of("a", "b"), store.findBy("skills.name", "Java").stream().map(Portfolio::getId).toList());
+		assertEquals("b", store.findFirstBy("personalInfo.name", "Name b").orElseThrow().getId());
+
+		store.update("a", portfolio -> portfolio.setSkills(List.of()));
+
+		assertEquals(List.of("b"), store.findBy("skills.name", "Java").stream().map(Portfolio::getId).toList());
+		assertTrue(store.findBy("skills.name", "React").isEmpty());
+		store.delete("b", null);
+		assertFalse(store.existsBy("personalInfo.email", "b@example.com"));
+	}
+
+	@Test
+	void copiesOnWriteAndChecksVersions() {
+		EmbeddedPortfolioStore store = store(directory.resolve("portfolio.snapshot"));
+		Portfolio first = store.insert(portfolio("a", "a@example.com", "Java"));
+
+		Portfolio second = store.update("a", portfolio -> portfolio.getSkills().get(0).setName("Kotlin")).orElseThrow();
+
+		assertEquals("Java", first.getSkills().get(0).getName());
+		assertEquals(0L, first.getVersion());
+		assertEquals(1L, second.getVersion());
+		assertThrows(OptimisticLockingFailureException.class, () -> store.replace("a", portfolio("a", "a@example.com"), 0L));
+		assertThrows(OptimisticLockingFailureException.class, () -> store.delete("a", 0L));
+		assertEquals(2L, store.replace("a", portfolio("a", "a@example.com"), 1L).getVersion());
+		assertThrows(DuplicateKeyException.class, () -> store.insert(portfolio("c", "a@example.com")));
+	}
+
+	@Test
+	void reloadsTheSnapshot() throws Exception {
+		Path snapshot = directory.resolve("portfolio.snapshot");
+		EmbeddedPortfolioStore store = store(snapshot);
+		store.insert(portfolio("a", "a@example.com", "Java"));
+		store.insert(portfolio(null, "b@example.com", "Go"));
+		store.snapshot();
+
+		EmbeddedPortfolioStore reloaded = store(snapshot);
+
+		assertEquals(store.findAll(), reloaded.findAll());
+		assertEquals("a", reloaded.findFirstBy("skills.name", "Java").orElseThrow().getId());
+		assertThrows(DuplicateKeyException.class, () -> reloaded.insert(portfolio("c", "b@example.com")));
+	}
+}